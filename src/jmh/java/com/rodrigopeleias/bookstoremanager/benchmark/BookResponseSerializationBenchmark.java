@@ -0,0 +1,60 @@
+package com.rodrigopeleias.bookstoremanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rodrigopeleias.bookstoremanager.author.builder.AuthorDTOBuilder;
+import com.rodrigopeleias.bookstoremanager.books.dto.BookResponseDTO;
+import com.rodrigopeleias.bookstoremanager.publishers.builder.PublisherDTOBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookResponseSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<BookResponseDTO> books;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        books = buildBooks(size);
+    }
+
+    @Benchmark
+    public byte[] serializeBookList() throws IOException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    static List<BookResponseDTO> buildBooks(int size) {
+        var author = AuthorDTOBuilder.builder().build().buildAuthorDTO();
+        var publisher = PublisherDTOBuilder.builder().build().buildPublisherDTO();
+        List<BookResponseDTO> books = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            books.add(new BookResponseDTO(id, "Spring Boot Pro " + id, "978-0-596-52068-7", 250L, 20L, author, publisher, 0L));
+        }
+        return books;
+    }
+}
@@ -0,0 +1,82 @@
+package com.rodrigopeleias.bookstoremanager.benchmark;
+
+import com.rodrigopeleias.bookstoremanager.author.exception.AuthorAlreadyExistsException;
+import com.rodrigopeleias.bookstoremanager.author.exception.AuthorNotFoundException;
+import com.rodrigopeleias.bookstoremanager.exception.BookstoreExceptionHandler;
+import com.rodrigopeleias.bookstoremanager.exception.StacklessExceptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    @Param({"true", "false"})
+    private boolean stackless;
+
+    @Param({"100"})
+    private int callDepth;
+
+    private BookstoreExceptionHandler exceptionHandler;
+
+    private AuthorNotFoundException authorNotFoundException;
+
+    private AuthorAlreadyExistsException authorAlreadyExistsException;
+
+    private WebRequest request;
+
+    @Setup
+    public void setUp() {
+        StacklessExceptions.setEnabled(stackless);
+        exceptionHandler = new BookstoreExceptionHandler();
+        authorNotFoundException = new AuthorNotFoundException(1L);
+        authorAlreadyExistsException = new AuthorAlreadyExistsException("Rodrigo Peleias");
+        request = new ServletWebRequest(new MockHttpServletRequest());
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> buildNotFoundResponse() {
+        return exceptionHandler.handleEntityNotFoundException(authorNotFoundException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> buildAlreadyExistsResponse() {
+        return exceptionHandler.handleEntityExistsException(authorAlreadyExistsException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> throwAndHandleNotFound() {
+        try {
+            findAuthor(callDepth);
+            return null;
+        } catch (AuthorNotFoundException exception) {
+            return exceptionHandler.handleEntityNotFoundException(exception, request);
+        }
+    }
+
+    private static void findAuthor(int depth) {
+        if (depth == 0) {
+            throw new AuthorNotFoundException(1L);
+        }
+        findAuthor(depth - 1);
+    }
+}
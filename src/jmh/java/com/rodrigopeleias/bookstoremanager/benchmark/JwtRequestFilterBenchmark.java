@@ -0,0 +1,88 @@
+package com.rodrigopeleias.bookstoremanager.benchmark;
+
+import com.rodrigopeleias.bookstoremanager.config.JwtRequestFilter;
+import com.rodrigopeleias.bookstoremanager.users.dto.AuthenticadedUser;
+import com.rodrigopeleias.bookstoremanager.users.service.AuthenticationService;
+import com.rodrigopeleias.bookstoremanager.users.service.JwtTokenManger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtRequestFilterBenchmark {
+
+    private static final String BOOKS_API_URL_PATH = "/api/v1/books";
+
+    private JwtRequestFilter jwtRequestFilter;
+
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        var jwtTokenManger = new JwtTokenManger(18000, "bookstoremanager");
+        var userDetails = new AuthenticadedUser("rodrigopeleias", "123456", "USER");
+        authorizationHeader = "Bearer " + jwtTokenManger.generateToken(userDetails);
+
+        jwtRequestFilter = new JwtRequestFilter();
+        ReflectionTestUtils.setField(jwtRequestFilter, "jwtTokenManger", jwtTokenManger);
+        ReflectionTestUtils.setField(jwtRequestFilter, "authenticationService", new FixedUserAuthenticationService(userDetails));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws ServletException, IOException {
+        var request = new MockHttpServletRequest("GET", BOOKS_API_URL_PATH);
+        request.addHeader("Authorization", authorizationHeader);
+        return doFilter(request);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse anonymousRequest() throws ServletException, IOException {
+        return doFilter(new MockHttpServletRequest("GET", BOOKS_API_URL_PATH));
+    }
+
+    private MockHttpServletResponse doFilter(MockHttpServletRequest request) throws ServletException, IOException {
+        var response = new MockHttpServletResponse();
+        try {
+            jwtRequestFilter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    private static class FixedUserAuthenticationService extends AuthenticationService {
+
+        private final UserDetails userDetails;
+
+        FixedUserAuthenticationService(UserDetails userDetails) {
+            this.userDetails = userDetails;
+        }
+
+        @Override
+        public UserDetails loadUserByUsername(String username) {
+            return userDetails;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.rodrigopeleias.bookstoremanager.benchmark;
+
+import com.rodrigopeleias.bookstoremanager.users.dto.AuthenticadedUser;
+import com.rodrigopeleias.bookstoremanager.users.service.JwtTokenManger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenMangerBenchmark {
+
+    private JwtTokenManger jwtTokenManger;
+
+    private UserDetails userDetails;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenManger = new JwtTokenManger(18000, "bookstoremanager");
+        userDetails = new AuthenticadedUser("rodrigopeleias", "123456", "ADMIN");
+        token = jwtTokenManger.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenManger.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return jwtTokenManger.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenManger.validateToken(token, userDetails);
+    }
+}
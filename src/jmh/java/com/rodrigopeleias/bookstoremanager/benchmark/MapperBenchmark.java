@@ -0,0 +1,93 @@
+package com.rodrigopeleias.bookstoremanager.benchmark;
+
+import com.rodrigopeleias.bookstoremanager.author.builder.AuthorDTOBuilder;
+import com.rodrigopeleias.bookstoremanager.author.dto.AuthorDTO;
+import com.rodrigopeleias.bookstoremanager.author.entity.Author;
+import com.rodrigopeleias.bookstoremanager.author.mapper.AuthorMapper;
+import com.rodrigopeleias.bookstoremanager.publishers.builder.PublisherDTOBuilder;
+import com.rodrigopeleias.bookstoremanager.publishers.dto.PublisherDTO;
+import com.rodrigopeleias.bookstoremanager.publishers.entity.Publisher;
+import com.rodrigopeleias.bookstoremanager.publishers.mappers.PublisherMapper;
+import com.rodrigopeleias.bookstoremanager.users.builder.UserDTOBuilder;
+import com.rodrigopeleias.bookstoremanager.users.dto.UserDTO;
+import com.rodrigopeleias.bookstoremanager.users.entity.User;
+import com.rodrigopeleias.bookstoremanager.users.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final AuthorMapper authorMapper = AuthorMapper.INSTANCE;
+
+    private final PublisherMapper publisherMapper = PublisherMapper.INSTANCE;
+
+    private final UserMapper userMapper = UserMapper.INSTANCE;
+
+    private AuthorDTO authorDTO;
+
+    private Author author;
+
+    private PublisherDTO publisherDTO;
+
+    private Publisher publisher;
+
+    private UserDTO userDTO;
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        authorDTO = AuthorDTOBuilder.builder().build().buildAuthorDTO();
+        author = authorMapper.toModel(authorDTO);
+        publisherDTO = PublisherDTOBuilder.builder().build().buildPublisherDTO();
+        publisher = publisherMapper.toModel(publisherDTO);
+        userDTO = UserDTOBuilder.builder().build().buildUserDTO();
+        user = userMapper.toModel(userDTO);
+    }
+
+    @Benchmark
+    public Author authorToModel() {
+        return authorMapper.toModel(authorDTO);
+    }
+
+    @Benchmark
+    public AuthorDTO authorToDTO() {
+        return authorMapper.toDTO(author);
+    }
+
+    @Benchmark
+    public Publisher publisherToModel() {
+        return publisherMapper.toModel(publisherDTO);
+    }
+
+    @Benchmark
+    public PublisherDTO publisherToDTO() {
+        return publisherMapper.toDTO(publisher);
+    }
+
+    @Benchmark
+    public User userToModel() {
+        return userMapper.toModel(userDTO);
+    }
+
+    @Benchmark
+    public UserDTO userToDTO() {
+        return userMapper.toDTO(user);
+    }
+}
@@ -0,0 +1,74 @@
+package com.rodrigopeleias.bookstoremanager.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rodrigopeleias.bookstoremanager.books.dto.BookResponseDTO;
+import com.rodrigopeleias.bookstoremanager.config.JacksonConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectMapperTuningBenchmark {
+
+    private static final TypeReference<List<BookResponseDTO>> BOOK_LIST = new TypeReference<>() {
+    };
+
+    @Param({"baseline", "tuned"})
+    private String mapper;
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<BookResponseDTO> books;
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = buildObjectMapper(mapper);
+        books = BookResponseSerializationBenchmark.buildBooks(size);
+        payload = objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public void serializeToStream() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), books);
+    }
+
+    @Benchmark
+    public List<BookResponseDTO> deserialize() throws IOException {
+        return objectMapper.readValue(payload, BOOK_LIST);
+    }
+
+    private static ObjectMapper buildObjectMapper(String mapper) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if ("tuned".equals(mapper)) {
+            JacksonConfig jacksonConfig = new JacksonConfig();
+            builder.modulesToInstall(jacksonConfig.blackbirdModule());
+            jacksonConfig.objectMapperTuningCustomizer().customize(builder);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.rodrigopeleias.bookstoremanager.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rodrigopeleias.bookstoremanager.books.dto.BookResponseDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    private static final TypeReference<List<BookResponseDTO>> BOOK_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<BookResponseDTO> books;
+
+    private byte[] payload;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class PayloadCounters {
+
+        public long payloadBytes;
+
+        public long payloads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            payloadBytes = 0;
+            payloads = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = buildObjectMapper(format);
+        books = BookResponseSerializationBenchmark.buildBooks(size);
+        payload = objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] serialize(PayloadCounters counters) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(books);
+        counters.payloadBytes += bytes.length;
+        counters.payloads++;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<BookResponseDTO> deserialize() throws IOException {
+        return objectMapper.readValue(payload, BOOK_LIST);
+    }
+
+    private static ObjectMapper buildObjectMapper(String format) {
+        switch (format) {
+            case "json":
+                return Jackson2ObjectMapperBuilder.json().build();
+            case "smile":
+                return Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor":
+                return Jackson2ObjectMapperBuilder.cbor().build();
+            default:
+                throw new IllegalArgumentException("Unknown payload format " + format);
+        }
+    }
+}
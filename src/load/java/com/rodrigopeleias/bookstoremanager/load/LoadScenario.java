@@ -0,0 +1,178 @@
+package com.rodrigopeleias.bookstoremanager.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LoadScenario {
+
+    public static final Set<String> ENDPOINTS = Set.of(
+            "authenticate",
+            "authors.list", "authors.get", "authors.create",
+            "publishers.list", "publishers.get", "publishers.create",
+            "books.list", "books.patch");
+
+    private static final String USERS_API_URL_PATH = "/api/v1/users";
+    private static final String AUTHORS_API_URL_PATH = "/api/v1/authors";
+    private static final String PUBLISHERS_API_URL_PATH = "/api/v1/publishers";
+    private static final String BOOKS_API_URL_PATH = "/api/v1/books";
+    private static final String BATCH_API_URL_PATH = "/api/v1/batch";
+
+    private static final String MERGE_PATCH_CONTENT_TYPE = "application/merge-patch+json";
+
+    // the batch endpoint caps how many operations one request may carry
+    private static final int BOOKS_PER_BATCH = 100;
+
+    private static final String ADMIN_USERNAME = "loadadmin";
+    private static final String PASSWORD = "load-test-password";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final String baseUrl;
+
+    private final HttpClient httpClient;
+
+    private final List<Long> authorIds = new ArrayList<>();
+
+    private final List<Long> publisherIds = new ArrayList<>();
+
+    private final List<Long> bookIds = new ArrayList<>();
+
+    private String authorization;
+
+    public LoadScenario(String baseUrl, HttpClient httpClient) {
+        this.baseUrl = baseUrl;
+        this.httpClient = httpClient;
+    }
+
+    public void seed(LoadTestConfig config) throws IOException, InterruptedException {
+        send(createAdminUserRequest());
+        JsonNode jwtResponse = send(authenticateRequest());
+        authorization = "Bearer " + jwtResponse.get("jwtToken").asText();
+
+        for (int i = 0; i < config.getSeedAuthors(); i++) {
+            authorIds.add(send(createAuthorRequest()).get("id").asLong());
+        }
+        for (int i = 0; i < config.getSeedPublishers(); i++) {
+            publisherIds.add(send(createPublisherRequest()).get("id").asLong());
+        }
+        // books have no create endpoint of their own, so they are seeded through batches
+        for (int seeded = 0; seeded < config.getSeedBooks(); seeded += BOOKS_PER_BATCH) {
+            int count = Math.min(BOOKS_PER_BATCH, config.getSeedBooks() - seeded);
+            for (JsonNode result : send(createBooksRequest(count)).get("results")) {
+                bookIds.add(result.get("id").asLong());
+            }
+        }
+    }
+
+    public HttpRequest buildRequest(String endpoint) {
+        switch (endpoint) {
+            case "authenticate":
+                return authenticateRequest();
+            case "authors.list":
+                return get(AUTHORS_API_URL_PATH);
+            case "authors.get":
+                return get(AUTHORS_API_URL_PATH + "/" + randomId(authorIds));
+            case "authors.create":
+                return createAuthorRequest();
+            case "publishers.list":
+                return get(PUBLISHERS_API_URL_PATH);
+            case "publishers.get":
+                return get(PUBLISHERS_API_URL_PATH + "/" + randomId(publisherIds));
+            case "publishers.create":
+                return createPublisherRequest();
+            case "books.list":
+                return get(BOOKS_API_URL_PATH);
+            case "books.patch":
+                return patchBookRequest();
+            default:
+                throw new IllegalArgumentException(String.format("Unknown load endpoint %s, expected one of %s", endpoint, ENDPOINTS));
+        }
+    }
+
+    private HttpRequest createAdminUserRequest() {
+        String body = String.format("{\"name\":\"Load Admin\",\"age\":30,\"gender\":\"MALE\",\"email\":\"%s@load.test\","
+                + "\"username\":\"%s\",\"password\":\"%s\",\"birthDate\":\"01/01/1990\",\"role\":\"ADMIN\"}",
+                ADMIN_USERNAME, ADMIN_USERNAME, PASSWORD);
+        return post(USERS_API_URL_PATH, body, false);
+    }
+
+    private HttpRequest authenticateRequest() {
+        String body = String.format("{\"username\":\"%s\",\"password\":\"%s\"}", ADMIN_USERNAME, PASSWORD);
+        return post(USERS_API_URL_PATH + "/authenticate", body, false);
+    }
+
+    private HttpRequest createAuthorRequest() {
+        long id = sequence.incrementAndGet();
+        String body = String.format("{\"name\":\"Load Author %d\",\"age\":%d}", id, 20 + id % 80);
+        return post(AUTHORS_API_URL_PATH, body, true);
+    }
+
+    private HttpRequest createPublisherRequest() {
+        long id = sequence.incrementAndGet();
+        String body = String.format("{\"name\":\"Load Publisher %d\",\"code\":\"LOAD%d\",\"foundationDate\":\"01/06/2020\"}", id, id);
+        return post(PUBLISHERS_API_URL_PATH, body, true);
+    }
+
+    private HttpRequest createBooksRequest(int count) {
+        List<String> operations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = sequence.incrementAndGet();
+            operations.add(String.format("{\"action\":\"create\",\"resource\":\"books\",\"body\":{\"name\":\"Load Book %d\","
+                    + "\"isbn\":\"978-3-16-148410-0\",\"pages\":%d,\"chapters\":%d,\"authorId\":%d,\"publisherId\":%d}}",
+                    id, 50 + id % 950, 1 + id % 60, randomId(authorIds), randomId(publisherIds)));
+        }
+        return post(BATCH_API_URL_PATH, "{\"operations\":[" + String.join(",", operations) + "]}", true);
+    }
+
+    private HttpRequest patchBookRequest() {
+        String body = String.format("{\"pages\":%d}", 50 + ThreadLocalRandom.current().nextInt(950));
+        return HttpRequest.newBuilder(URI.create(baseUrl + BOOKS_API_URL_PATH + "/" + randomId(bookIds)))
+                .header("Content-Type", MERGE_PATCH_CONTENT_TYPE)
+                .header("Authorization", authorization)
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String body, boolean authenticated) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (authenticated) {
+            builder.header("Authorization", authorization);
+        }
+        return builder.build();
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(String.format("Seeding request %s failed with status %d: %s",
+                    request.uri(), response.statusCode(), response.body()));
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private static long randomId(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,66 @@
+package com.rodrigopeleias.bookstoremanager.load;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+public class LoadTestConfig {
+
+    private static final String DEFAULT_MIX = "authenticate=5,authors.list=15,authors.get=25,authors.create=5,"
+            + "publishers.list=15,publishers.get=20,publishers.create=5,books.list=5,books.patch=5";
+
+    private final int rate;
+
+    private final Duration duration;
+
+    private final Duration warmup;
+
+    private final boolean poissonArrivals;
+
+    private final int maxInFlight;
+
+    private final int seedAuthors;
+
+    private final int seedPublishers;
+
+    private final int seedBooks;
+
+    private final Map<String, Integer> mix;
+
+    private final String reportFile;
+
+    private final String profile;
+
+    private LoadTestConfig() {
+        this.rate = Integer.getInteger("load.rate", 200);
+        this.duration = Duration.ofSeconds(Long.getLong("load.duration", 30L));
+        this.warmup = Duration.ofSeconds(Long.getLong("load.warmup", 10L));
+        this.poissonArrivals = "poisson".equalsIgnoreCase(System.getProperty("load.arrival", "constant"));
+        this.maxInFlight = Integer.getInteger("load.max-in-flight", 1000);
+        this.seedAuthors = Integer.getInteger("load.seed.authors", 50);
+        this.seedPublishers = Integer.getInteger("load.seed.publishers", 50);
+        this.seedBooks = Integer.getInteger("load.seed.books", 200);
+        this.mix = parseMix(System.getProperty("load.mix", DEFAULT_MIX));
+        this.reportFile = System.getProperty("load.report", "target/load-report.json");
+        this.profile = System.getProperty("load.profile", "prod");
+    }
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] nameAndWeight = entry.trim().split("=");
+            if (nameAndWeight.length != 2) {
+                throw new IllegalArgumentException(String.format("Invalid load.mix entry '%s', expected name=weight", entry));
+            }
+            weights.put(nameAndWeight[0].trim(), Integer.parseInt(nameAndWeight[1].trim()));
+        }
+        return weights;
+    }
+}
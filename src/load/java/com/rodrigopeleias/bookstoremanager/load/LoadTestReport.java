@@ -0,0 +1,73 @@
+package com.rodrigopeleias.bookstoremanager.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class LoadTestReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<String, Object> summary = new LinkedHashMap<>();
+
+    private final Map<String, Map<String, Object>> endpoints = new LinkedHashMap<>();
+
+    public LoadTestReport(LoadTestConfig config, Map<String, EndpointStats> stats, long dropped) {
+        double seconds = config.getDuration().toMillis() / 1000.0;
+        summary.put("targetRate", config.getRate());
+        summary.put("arrival", config.isPoissonArrivals() ? "poisson" : "constant");
+        summary.put("durationSeconds", seconds);
+        summary.put("warmupSeconds", config.getWarmup().toMillis() / 1000.0);
+        summary.put("droppedClientSide", dropped);
+
+        long totalRequests = 0;
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            Histogram latency = entry.getValue().getLatencyMicros();
+            totalRequests += latency.getTotalCount();
+
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("requests", latency.getTotalCount());
+            endpoint.put("errors", entry.getValue().getErrors());
+            endpoint.put("throughput", latency.getTotalCount() / seconds);
+            endpoint.put("p50Ms", percentileMillis(latency, 50.0));
+            endpoint.put("p99Ms", percentileMillis(latency, 99.0));
+            endpoint.put("p999Ms", percentileMillis(latency, 99.9));
+            endpoint.put("maxMs", latency.getMaxValue() / MICROS_PER_MILLI);
+            endpoints.put(entry.getKey(), endpoint);
+        }
+        summary.put("requests", totalRequests);
+        summary.put("throughput", totalRequests / seconds);
+    }
+
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%nLoad test: %s req/s target (%s arrivals), %.0fs measured after %.0fs warm-up, %d requests, %.1f req/s achieved, %d dropped client-side%n",
+                summary.get("targetRate"), summary.get("arrival"), summary.get("durationSeconds"), summary.get("warmupSeconds"),
+                summary.get("requests"), summary.get("throughput"), summary.get("droppedClientSide"));
+        out.printf(Locale.ROOT, "%-20s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.forEach((name, endpoint) -> out.printf(Locale.ROOT, "%-20s %10d %8d %10.1f %10.3f %10.3f %10.3f %10.3f%n",
+                name, endpoint.get("requests"), endpoint.get("errors"), endpoint.get("throughput"),
+                endpoint.get("p50Ms"), endpoint.get("p99Ms"), endpoint.get("p999Ms"), endpoint.get("maxMs")));
+    }
+
+    public void writeJson(File file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>(summary);
+        json.put("endpoints", endpoints);
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, json);
+    }
+
+    private static double percentileMillis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
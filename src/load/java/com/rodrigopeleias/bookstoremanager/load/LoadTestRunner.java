@@ -0,0 +1,135 @@
+package com.rodrigopeleias.bookstoremanager.load;
+
+import com.rodrigopeleias.bookstoremanager.BookstoremanagerApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadTestRunner {
+
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final LoadTestConfig config;
+
+    private final LoadScenario scenario;
+
+    private final HttpClient httpClient;
+
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    private final String[] weightedEndpoints;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private long dropped;
+
+    public LoadTestRunner(LoadTestConfig config, LoadScenario scenario, HttpClient httpClient) {
+        this.config = config;
+        this.scenario = scenario;
+        this.httpClient = httpClient;
+        this.weightedEndpoints = buildWeightedEndpoints(config.getMix());
+        config.getMix().keySet().forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BookstoremanagerApplication.class)
+                .properties("server.port=0", "spring.profiles.active=" + config.getProfile(), "logging.level.root=WARN")
+                .run(args);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            LoadScenario scenario = new LoadScenario(baseUrl, httpClient);
+            scenario.seed(config);
+
+            LoadTestReport report = new LoadTestRunner(config, scenario, httpClient).run();
+            report.print(System.out);
+            report.writeJson(new File(config.getReportFile()));
+        } finally {
+            executor.shutdownNow();
+            context.close();
+        }
+    }
+
+    public LoadTestReport run() throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+        long startNanos = System.nanoTime();
+        long measureStartNanos = startNanos + config.getWarmup().toNanos();
+        long endNanos = measureStartNanos + config.getDuration().toNanos();
+
+        long intendedStartNanos = startNanos;
+        while (intendedStartNanos < endNanos) {
+            waitUntil(intendedStartNanos);
+            fire(weightedEndpoints[ThreadLocalRandom.current().nextInt(weightedEndpoints.length)],
+                    intendedStartNanos, intendedStartNanos >= measureStartNanos);
+            intendedStartNanos += config.isPoissonArrivals() ? nextExponential(intervalNanos) : intervalNanos;
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        return new LoadTestReport(config, stats, dropped);
+    }
+
+    private void fire(String endpoint, long intendedStartNanos, boolean measured) {
+        if (inFlight.get() >= config.getMaxInFlight()) {
+            dropped++;
+            return;
+        }
+        HttpRequest request = scenario.buildRequest(endpoint);
+        EndpointStats endpointStats = stats.get(endpoint);
+        inFlight.incrementAndGet();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    inFlight.decrementAndGet();
+                    if (measured) {
+                        boolean error = failure != null || response.statusCode() >= 400;
+                        endpointStats.record(System.nanoTime() - intendedStartNanos, error);
+                    }
+                });
+    }
+
+    private static void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static long nextExponential(long meanNanos) {
+        return (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanNanos);
+    }
+
+    private static String[] buildWeightedEndpoints(Map<String, Integer> mix) {
+        mix.keySet().forEach(endpoint -> {
+            if (!LoadScenario.ENDPOINTS.contains(endpoint)) {
+                throw new IllegalArgumentException(String.format("Unknown load endpoint %s, expected one of %s", endpoint, LoadScenario.ENDPOINTS));
+            }
+        });
+        return mix.entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(String[]::new);
+    }
+}
@@ -1,9 +1,16 @@
 package com.rodrigopeleias.bookstoremanager.author.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.rodrigopeleias.bookstoremanager.author.dto.AuthorDTO;
 import com.rodrigopeleias.bookstoremanager.author.service.AuthorService;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaPageDTO;
+import com.rodrigopeleias.bookstoremanager.multiget.MultiGetItemDTO;
+import com.rodrigopeleias.bookstoremanager.patch.MergePatch;
+import com.rodrigopeleias.bookstoremanager.precondition.EntityVersionTag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
@@ -21,24 +28,42 @@ public class AuthorController implements AuthorControllerDocs {
     }
 
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public AuthorDTO create(@RequestBody @Valid AuthorDTO authorDTO) {
-        return authorService.create(authorDTO);
+    public ResponseEntity<AuthorDTO> create(@RequestBody @Valid AuthorDTO authorDTO) {
+        AuthorDTO createdAuthorDTO = authorService.create(authorDTO);
+        return EntityVersionTag.withVersion(HttpStatus.CREATED, createdAuthorDTO, createdAuthorDTO.getVersion());
     }
 
     @GetMapping("/{id}")
-    public AuthorDTO findById(@PathVariable  Long id) {
-        return authorService.findById(id);
+    public ResponseEntity<AuthorDTO> findById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        AuthorDTO foundAuthorDTO = fields == null ? authorService.findById(id) : authorService.findById(id, fields);
+        return EntityVersionTag.withVersion(foundAuthorDTO, foundAuthorDTO.getVersion());
+    }
+
+    @GetMapping("/changes")
+    public DeltaPageDTO<AuthorDTO> findChanges(@RequestParam(required = false) String since) {
+        return authorService.findChanges(since);
+    }
+
+    @GetMapping(params = "ids")
+    public List<MultiGetItemDTO<AuthorDTO>> findAllById(@RequestParam List<Long> ids) {
+        return authorService.findAllById(ids);
     }
 
     @GetMapping
-    public List<AuthorDTO> findAll() {
-        return authorService.findAll();
+    public List<AuthorDTO> findAll(@RequestParam(required = false) String fields) {
+        return fields == null ? authorService.findAll() : authorService.findAll(fields);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MergePatch.MEDIA_TYPE)
+    public ResponseEntity<AuthorDTO> patch(@PathVariable Long id, @RequestBody JsonNode patch,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        AuthorDTO patchedAuthorDTO = authorService.patch(id, patch, EntityVersionTag.parseIfMatch(ifMatch));
+        return EntityVersionTag.withVersion(patchedAuthorDTO, patchedAuthorDTO.getVersion());
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id) {
-        authorService.delete(id);
+    public void delete(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        authorService.delete(id, EntityVersionTag.parseIfMatch(ifMatch));
     }
 }
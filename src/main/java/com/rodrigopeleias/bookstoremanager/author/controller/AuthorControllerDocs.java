@@ -1,10 +1,14 @@
 package com.rodrigopeleias.bookstoremanager.author.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.rodrigopeleias.bookstoremanager.author.dto.AuthorDTO;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaPageDTO;
+import com.rodrigopeleias.bookstoremanager.multiget.MultiGetItemDTO;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import org.springframework.http.ResponseEntity;
 
 import java.util.List;
 
@@ -15,25 +19,51 @@ public interface AuthorControllerDocs {
             @ApiResponse(code = 201, message = "Success author creation"),
             @ApiResponse(code = 400, message = "Missing required fields, wrong field range value or author already registered on system")
     })
-    AuthorDTO create(AuthorDTO authorDTO);
+    ResponseEntity<AuthorDTO> create(AuthorDTO authorDTO);
 
-    @ApiOperation(value = "Find author by id operation")
+    @ApiOperation(value = "Find author by id operation, optionally restricted to the comma separated fields")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Success author found"),
             @ApiResponse(code = 404, message = "Author not found error code")
     })
-    AuthorDTO findById(Long id);
+    ResponseEntity<AuthorDTO> findById(Long id, String fields);
 
-    @ApiOperation(value = "List all registered authors")
+    @ApiOperation(value = "Find authors by a comma separated id list, in request order")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Return one entry per requested id, flagging the ones not found"),
+            @ApiResponse(code = 400, message = "Too many ids requested at once")
+    })
+    List<MultiGetItemDTO<AuthorDTO>> findAllById(List<Long> ids);
+
+    @ApiOperation(value = "Return authors changed and deleted after the given watermark, in pages")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Changed authors, deleted ids and the watermark to resume from"),
+            @ApiResponse(code = 400, message = "Invalid watermark"),
+            @ApiResponse(code = 410, message = "Watermark older than the retained deletions, a full resync is needed")
+    })
+    DeltaPageDTO<AuthorDTO> findChanges(String since);
+
+    @ApiOperation(value = "Partial author update with a JSON merge patch, only the informed fields are changed")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success author patched"),
+            @ApiResponse(code = 400, message = "Invalid patch document, patched fields failing validation or author already registered on system"),
+            @ApiResponse(code = 404, message = "Author with informed id not found in the system"),
+            @ApiResponse(code = 412, message = "If-Match ETag is not the current author version"),
+            @ApiResponse(code = 415, message = "Patch not sent as application/merge-patch+json")
+    })
+    ResponseEntity<AuthorDTO> patch(Long id, JsonNode patch, String ifMatch);
+
+    @ApiOperation(value = "List all registered authors, optionally restricted to the comma separated fields")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Return all registered authors")
     })
-    List<AuthorDTO> findAll();
+    List<AuthorDTO> findAll(String fields);
 
     @ApiOperation(value = "Delete author by id operation")
     @ApiResponses(value = {
             @ApiResponse(code = 204, message = "Success author deleted"),
-            @ApiResponse(code = 404, message = "Author not found error code")
+            @ApiResponse(code = 404, message = "Author not found error code"),
+            @ApiResponse(code = 412, message = "If-Match ETag is not the current author version")
     })
-    void delete(Long id);;
+    void delete(Long id, String ifMatch);
 }
@@ -1,5 +1,7 @@
 package com.rodrigopeleias.bookstoremanager.author.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,6 +14,7 @@ import javax.validation.constraints.Size;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class AuthorDTO {
 
     private Long id;
@@ -24,4 +27,8 @@ public class AuthorDTO {
     @NotNull
     @Max(120)
     private Integer age;
+
+    @JsonIgnore
+    private Long version;
+
 }
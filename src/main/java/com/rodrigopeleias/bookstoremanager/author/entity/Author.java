@@ -3,19 +3,29 @@ package com.rodrigopeleias.bookstoremanager.author.entity;
 import com.rodrigopeleias.bookstoremanager.books.entity.Book;
 import com.rodrigopeleias.bookstoremanager.entity.Auditable;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
 import java.util.List;
 
 @Data
 @Entity
+@DynamicUpdate
+@SQLDelete(sql = "update author set deleted = true, deleted_date = now(), version = version + 1 where id = ? and version = ?")
+@Where(clause = "deleted = false")
+@Table(indexes = @Index(name = "idx_author_last_modified", columnList = "lastModifiedDate, id"),
+        uniqueConstraints = @UniqueConstraint(name = Author.NAME_CONSTRAINT, columnNames = "name"))
 public class Author extends Auditable {
 
+    public static final String NAME_CONSTRAINT = "uk_author_name";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String name;
 
     @Column(columnDefinition = "integer default 0")
@@ -1,9 +1,9 @@
 package com.rodrigopeleias.bookstoremanager.author.exception;
 
-import javax.persistence.EntityExistsException;
+import com.rodrigopeleias.bookstoremanager.exception.DomainEntityExistsException;
 
-public class AuthorAlreadyExistsException extends EntityExistsException {
+public class AuthorAlreadyExistsException extends DomainEntityExistsException {
     public AuthorAlreadyExistsException(String name) {
-        super(String.format("User with name %s already exists!", name));
+        super("User with name " + name + " already exists!");
     }
 }
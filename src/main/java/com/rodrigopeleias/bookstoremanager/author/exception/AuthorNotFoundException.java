@@ -1,9 +1,9 @@
 package com.rodrigopeleias.bookstoremanager.author.exception;
 
-import javax.persistence.EntityNotFoundException;
+import com.rodrigopeleias.bookstoremanager.exception.DomainEntityNotFoundException;
 
-public class AuthorNotFoundException extends EntityNotFoundException {
+public class AuthorNotFoundException extends DomainEntityNotFoundException {
     public AuthorNotFoundException(Long id) {
-        super(String.format("Author with id %s not exists!", id));
+        super("Author with id " + id + " not exists!");
     }
 }
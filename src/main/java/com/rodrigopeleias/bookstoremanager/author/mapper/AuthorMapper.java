@@ -3,6 +3,8 @@ package com.rodrigopeleias.bookstoremanager.author.mapper;
 import com.rodrigopeleias.bookstoremanager.author.dto.AuthorDTO;
 import com.rodrigopeleias.bookstoremanager.author.entity.Author;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 import org.mapstruct.factory.Mappers;
 
 @Mapper
@@ -10,8 +12,24 @@ public interface AuthorMapper {
 
     AuthorMapper INSTANCE = Mappers.getMapper(AuthorMapper.class);
 
-    Author toModel(AuthorDTO authorDTO) ;
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "deletedDate", ignore = true)
+    @Mapping(target = "books", ignore = true)
+    Author toModel(AuthorDTO authorDTO);
 
     AuthorDTO toDTO(Author author);
 
+    AuthorDTO copy(AuthorDTO authorDTO);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "deletedDate", ignore = true)
+    @Mapping(target = "books", ignore = true)
+    void updateModel(AuthorDTO authorDTO, @MappingTarget Author author);
+
 }
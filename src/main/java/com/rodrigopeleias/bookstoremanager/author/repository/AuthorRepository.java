@@ -2,9 +2,19 @@ package com.rodrigopeleias.bookstoremanager.author.repository;
 
 import com.rodrigopeleias.bookstoremanager.author.entity.Author;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface AuthorRepository extends JpaRepository<Author, Long> {
     Optional<Author> findByName(String name);
+
+    // later writes in the same transaction, such as the rest of a batch, must not see the deleted entity as live
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Author a set a.deleted = true, a.deletedDate = :deletedDate, a.version = a.version + 1"
+            + " where a.id = :id and a.deleted = false and a.version = coalesce(:version, a.version)")
+    int softDeleteById(@Param("id") Long id, @Param("version") Long expectedVersion, @Param("deletedDate") LocalDateTime deletedDate);
 }
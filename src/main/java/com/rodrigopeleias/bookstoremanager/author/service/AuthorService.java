@@ -1,15 +1,37 @@
 package com.rodrigopeleias.bookstoremanager.author.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.rodrigopeleias.bookstoremanager.author.dto.AuthorDTO;
 import com.rodrigopeleias.bookstoremanager.author.entity.Author;
 import com.rodrigopeleias.bookstoremanager.author.exception.AuthorAlreadyExistsException;
 import com.rodrigopeleias.bookstoremanager.author.exception.AuthorNotFoundException;
 import com.rodrigopeleias.bookstoremanager.author.mapper.AuthorMapper;
 import com.rodrigopeleias.bookstoremanager.author.repository.AuthorRepository;
+import com.rodrigopeleias.bookstoremanager.cache.RefreshAheadCache;
+import com.rodrigopeleias.bookstoremanager.changes.ChangeEvent;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaPageDTO;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaQuery;
+import com.rodrigopeleias.bookstoremanager.entity.UniqueConstraints;
+import com.rodrigopeleias.bookstoremanager.multiget.MultiGetItemDTO;
+import com.rodrigopeleias.bookstoremanager.multiget.MultiGetLoader;
+import com.rodrigopeleias.bookstoremanager.patch.MergePatch;
+import com.rodrigopeleias.bookstoremanager.precondition.EntityVersionTag;
+import com.rodrigopeleias.bookstoremanager.precondition.PreconditionFailedException;
+import com.rodrigopeleias.bookstoremanager.projection.FieldSelection;
+import com.rodrigopeleias.bookstoremanager.projection.TupleProjection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,24 +39,59 @@ public class AuthorService {
 
     private final static AuthorMapper authorMapper = AuthorMapper.INSTANCE;
 
+    private static final Set<String> SELECTABLE_FIELDS = Set.of("id", "name", "age");
+
+    private static final String ALL_AUTHORS = "all";
+
+    private static final String CHANGE_TYPE = "author";
+
+    // invalidation only reaches the caches of this instance, a write on another one is seen here once the entry expires,
+    // so the versioned entries If-Match is checked against expire sooner to keep those false 412s short lived
+    private static final Duration FIND_BY_ID_CACHE_TTL = Duration.ofSeconds(30);
+
+    private static final Duration FIND_ALL_CACHE_TTL = Duration.ofMinutes(5);
+
+    private final RefreshAheadCache<Long, AuthorDTO> findByIdCache = new RefreshAheadCache<>("author.findById", FIND_BY_ID_CACHE_TTL);
+
+    private final RefreshAheadCache<String, List<AuthorDTO>> findAllCache = new RefreshAheadCache<>("author.findAll", FIND_ALL_CACHE_TTL);
+
     private AuthorRepository authorRepository;
 
+    private TupleProjection tupleProjection;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private DeltaQuery deltaQuery;
+
+    private MergePatch mergePatch;
+
     @Autowired
-    public AuthorService(AuthorRepository authorRepository) {
+    public AuthorService(AuthorRepository authorRepository, TupleProjection tupleProjection, ApplicationEventPublisher eventPublisher,
+                         DeltaQuery deltaQuery, MergePatch mergePatch) {
         this.authorRepository = authorRepository;
+        this.tupleProjection = tupleProjection;
+        this.eventPublisher = eventPublisher;
+        this.deltaQuery = deltaQuery;
+        this.mergePatch = mergePatch;
     }
 
     public AuthorDTO create(AuthorDTO authorDTO) {
-        verifyIfExists(authorDTO.getName());
-
         Author authorToCreate = authorMapper.toModel(authorDTO);
-        Author createdAuthor = authorRepository.save(authorToCreate);
+        // a null id keeps save a plain insert instead of a merge that selects the row first
+        authorToCreate.setId(null);
+        Author createdAuthor = write(authorToCreate, () -> authorRepository.save(authorToCreate));
+        invalidateCaches(createdAuthor.getId());
+        eventPublisher.publishEvent(ChangeEvent.created(CHANGE_TYPE, createdAuthor.getId(), createdAuthor.getLastModifiedDate()));
         return authorMapper.toDTO(createdAuthor);
     }
 
     public AuthorDTO findById(Long id) {
-        Author foundAuthor = verifyAndGetAuthor(id);
-        return authorMapper.toDTO(foundAuthor);
+        // cached DTOs are mutable and shared, every caller gets a copy of its own
+        return authorMapper.copy(findByIdCache.get(id, () -> loadById(id)));
+    }
+
+    private AuthorDTO loadById(Long id) {
+        return authorMapper.toDTO(verifyAndGetAuthor(id));
     }
 
     private Author verifyAndGetAuthor(Long id) {
@@ -43,21 +100,107 @@ public class AuthorService {
         return foundAuthor;
     }
 
+    public AuthorDTO findById(Long id, String fields) {
+        return tupleProjection.findById(Author.class, id, FieldSelection.parse(fields, SELECTABLE_FIELDS), AuthorDTO::new)
+                .orElseThrow(() -> new AuthorNotFoundException(id));
+    }
+
+    public List<AuthorDTO> findAll(String fields) {
+        return tupleProjection.findAll(Author.class, FieldSelection.parse(fields, SELECTABLE_FIELDS), AuthorDTO::new);
+    }
+
+    public DeltaPageDTO<AuthorDTO> findChanges(String since) {
+        return deltaQuery.changesSince(Author.class, CHANGE_TYPE, since, Author::getId, authorMapper::toDTO, "");
+    }
+
+    public List<MultiGetItemDTO<AuthorDTO>> findAllById(List<Long> ids) {
+        return MultiGetLoader.loadInRequestOrder(ids, authorRepository::findAllById, Author::getId, authorMapper::toDTO);
+    }
+
     public List<AuthorDTO> findAll() {
+        return findAllCache.get(ALL_AUTHORS, this::loadAll)
+                .stream()
+                .map(authorMapper::copy)
+                .collect(Collectors.toList());
+    }
+
+    // every coalesced caller and cache hit shares this list, so none of them may change it
+    private List<AuthorDTO> loadAll() {
         return authorRepository.findAll()
                 .stream()
                 .map(authorMapper::toDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
     }
 
-    private void verifyIfExists(String authorName) {
-        authorRepository.findByName(authorName)
-                .ifPresent(author -> {throw new AuthorAlreadyExistsException(authorName);});
+    public int preload() {
+        List<AuthorDTO> authors = loadAll();
+        findAllCache.put(ALL_AUTHORS, authors, this::loadAll);
+        authors.forEach(author -> findByIdCache.put(author.getId(), author, () -> loadById(author.getId())));
+        return authors.size();
+    }
+
+    public void refreshCaches() {
+        findByIdCache.refreshHotEntries();
+        findAllCache.refreshHotEntries();
+    }
+
+    // a load racing the write can still read the old rows until commit, so drop them again once the write is visible
+    private void invalidateCaches(Long id) {
+        Runnable invalidation = () -> {
+            findByIdCache.invalidate(id);
+            findAllCache.invalidateAll();
+        };
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private Author write(Author authorToWrite, Supplier<Author> statement) {
+        try {
+            return statement.get();
+        } catch (DataIntegrityViolationException exception) {
+            if (UniqueConstraints.isViolated(exception, Author.NAME_CONSTRAINT)) {
+                throw new AuthorAlreadyExistsException(authorToWrite.getName());
+            }
+            throw exception;
+        }
+    }
+
+    @Transactional
+    public AuthorDTO patch(Long id, JsonNode patch, Long expectedVersion) {
+        Author authorToPatch = verifyAndGetAuthor(id);
+        EntityVersionTag.verifyIfMatch(CHANGE_TYPE, id, authorToPatch.getVersion(), expectedVersion);
+        AuthorDTO currentAuthorDTO = authorMapper.toDTO(authorToPatch);
+        AuthorDTO patchedAuthorDTO = mergePatch.apply(authorMapper.toDTO(authorToPatch), patch);
+        if (patchedAuthorDTO.equals(currentAuthorDTO)) {
+            return currentAuthorDTO;
+        }
+
+        // dynamic update, so the flush only writes the columns the patch changed
+        authorMapper.updateModel(patchedAuthorDTO, authorToPatch);
+        Author patchedAuthor = write(authorToPatch, () -> authorRepository.saveAndFlush(authorToPatch));
+        invalidateCaches(id);
+        eventPublisher.publishEvent(ChangeEvent.updated(CHANGE_TYPE, id, patchedAuthor.getLastModifiedDate()));
+        return authorMapper.toDTO(patchedAuthor);
     }
 
-    public void delete(Long id) {
-        verifyAndGetAuthor(id);
-        authorRepository.deleteById(id);
+    @Transactional
+    public void delete(Long id, Long expectedVersion) {
+        if (authorRepository.softDeleteById(id, expectedVersion, LocalDateTime.now()) == 0) {
+            // the conditional update can not tell a missing row from a stale version, only the failure path pays for asking
+            if (expectedVersion != null && authorRepository.existsById(id)) {
+                throw new PreconditionFailedException(CHANGE_TYPE, id);
+            }
+            throw new AuthorNotFoundException(id);
+        }
+        invalidateCaches(id);
+        eventPublisher.publishEvent(ChangeEvent.deleted(CHANGE_TYPE, id));
     }
 
 }
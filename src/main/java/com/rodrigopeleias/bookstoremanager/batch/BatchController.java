@@ -0,0 +1,46 @@
+package com.rodrigopeleias.bookstoremanager.batch;
+
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.security.Principal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/batch")
+public class BatchController {
+
+    private BatchService batchService;
+
+    @Autowired
+    public BatchController(BatchService batchService) {
+        this.batchService = batchService;
+    }
+
+    @ApiOperation(value = "Execute ordered author, publisher and book operations in a single transaction")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Every operation succeeded and was committed, with its result in order"),
+            @ApiResponse(code = 400, message = "Invalid batch or an operation failing validation, nothing was committed"),
+            @ApiResponse(code = 404, message = "An operation targets an id not found in the system, nothing was committed"),
+            @ApiResponse(code = 412, message = "An operation If-Match ETag is not the current version, nothing was committed")
+    })
+    @PostMapping
+    public ResponseEntity<BatchResponseDTO> execute(@RequestBody @Valid BatchRequestDTO batchRequestDTO, Principal principal) {
+        BatchResponseDTO batchResponseDTO = batchService.execute(batchRequestDTO.getOperations(), principal.getName());
+        if (batchResponseDTO.isCommitted()) {
+            return ResponseEntity.ok(batchResponseDTO);
+        }
+        // a rolled back batch answers with the status of the operation that failed it
+        List<BatchResultDTO> results = batchResponseDTO.getResults();
+        return ResponseEntity.status(HttpStatus.valueOf(results.get(results.size() - 1).getStatus())).body(batchResponseDTO);
+    }
+}
@@ -0,0 +1,45 @@
+package com.rodrigopeleias.bookstoremanager.batch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchOperationDTO {
+
+    @NotNull
+    private Action action;
+
+    @NotNull
+    private Resource resource;
+
+    // a numeric id, or "$name" for the id created by an earlier operation of the same batch
+    private JsonNode id;
+
+    // names the id this operation creates, so later operations can reference it as "$name"
+    @Pattern(regexp = BatchService.REFERENCE_NAME)
+    private String ref;
+
+    private String ifMatch;
+
+    private JsonNode body;
+
+    public enum Action {
+        @JsonProperty("create") CREATE,
+        @JsonProperty("update") UPDATE,
+        @JsonProperty("delete") DELETE
+    }
+
+    public enum Resource {
+        @JsonProperty("authors") AUTHORS,
+        @JsonProperty("publishers") PUBLISHERS,
+        @JsonProperty("books") BOOKS
+    }
+}
@@ -0,0 +1,20 @@
+package com.rodrigopeleias.bookstoremanager.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchRequestDTO {
+
+    @NotEmpty
+    @Size(max = BatchService.MAX_OPERATIONS)
+    private List<@Valid BatchOperationDTO> operations;
+}
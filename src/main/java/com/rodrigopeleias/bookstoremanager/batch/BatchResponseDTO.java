@@ -0,0 +1,18 @@
+package com.rodrigopeleias.bookstoremanager.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchResponseDTO {
+
+    // false when an operation failed, the results before it were rolled back with it
+    private boolean committed;
+
+    private List<BatchResultDTO> results;
+}
@@ -0,0 +1,34 @@
+package com.rodrigopeleias.bookstoremanager.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResultDTO {
+
+    private int index;
+
+    private int status;
+
+    private Long id;
+
+    private Long version;
+
+    private Object body;
+
+    private String error;
+
+    public static BatchResultDTO succeeded(int index, HttpStatus status, Long id, Long version, Object body) {
+        return new BatchResultDTO(index, status.value(), id, version, body, null);
+    }
+
+    public static BatchResultDTO failed(int index, HttpStatus status, String error) {
+        return new BatchResultDTO(index, status.value(), null, null, null, error);
+    }
+}
@@ -0,0 +1,251 @@
+package com.rodrigopeleias.bookstoremanager.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.rodrigopeleias.bookstoremanager.author.dto.AuthorDTO;
+import com.rodrigopeleias.bookstoremanager.author.service.AuthorService;
+import com.rodrigopeleias.bookstoremanager.books.dto.BookRequestDTO;
+import com.rodrigopeleias.bookstoremanager.books.dto.BookResponseDTO;
+import com.rodrigopeleias.bookstoremanager.books.service.BookService;
+import com.rodrigopeleias.bookstoremanager.patch.InvalidMergePatchException;
+import com.rodrigopeleias.bookstoremanager.precondition.EntityVersionTag;
+import com.rodrigopeleias.bookstoremanager.precondition.PreconditionFailedException;
+import com.rodrigopeleias.bookstoremanager.publishers.dto.PublisherDTO;
+import com.rodrigopeleias.bookstoremanager.publishers.service.PublisherService;
+import com.rodrigopeleias.bookstoremanager.users.entity.User;
+import com.rodrigopeleias.bookstoremanager.users.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import javax.persistence.EntityExistsException;
+import javax.persistence.EntityNotFoundException;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class BatchService {
+
+    public static final int MAX_OPERATIONS = 100;
+
+    static final String REFERENCE_NAME = "[A-Za-z0-9_-]{1,50}";
+
+    private static final String REFERENCE_PREFIX = "$";
+
+    private AuthorService authorService;
+
+    private PublisherService publisherService;
+
+    private BookService bookService;
+
+    private UserRepository userRepository;
+
+    private ObjectMapper objectMapper;
+
+    private Validator validator;
+
+    @Autowired
+    public BatchService(AuthorService authorService, PublisherService publisherService, BookService bookService,
+                        UserRepository userRepository, ObjectMapper objectMapper, Validator validator) {
+        this.authorService = authorService;
+        this.publisherService = publisherService;
+        this.bookService = bookService;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    // one transaction for the whole batch, the services join it instead of committing per operation
+    @Transactional
+    public BatchResponseDTO execute(List<BatchOperationDTO> operations, String username) {
+        BatchContext context = new BatchContext(username);
+        List<BatchResultDTO> results = new ArrayList<>(operations.size());
+        for (int index = 0; index < operations.size(); index++) {
+            BatchOperationDTO operation = operations.get(index);
+            try {
+                BatchResultDTO result = execute(index, operation, context);
+                if (operation.getRef() != null) {
+                    context.createdIds.put(operation.getRef(), result.getId());
+                }
+                results.add(result);
+            } catch (RuntimeException exception) {
+                HttpStatus status = statusOf(exception);
+                if (status == null) {
+                    throw exception;
+                }
+                // all or nothing, the operations that already ran are rolled back with the failed one
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                results.add(BatchResultDTO.failed(index, status, exception.getMessage()));
+                return new BatchResponseDTO(false, results);
+            }
+        }
+        return new BatchResponseDTO(true, results);
+    }
+
+    private BatchResultDTO execute(int index, BatchOperationDTO operation, BatchContext context) {
+        switch (operation.getAction()) {
+            case CREATE:
+                return create(index, operation.getResource(), resolveReferences(operation.getBody(), context), context);
+            case UPDATE:
+                return update(index, operation.getResource(), resolveId(operation.getId(), context),
+                        resolveReferences(operation.getBody(), context), EntityVersionTag.parseIfMatch(operation.getIfMatch()));
+            case DELETE:
+                Long id = resolveId(operation.getId(), context);
+                delete(operation.getResource(), id, EntityVersionTag.parseIfMatch(operation.getIfMatch()));
+                return BatchResultDTO.succeeded(index, HttpStatus.NO_CONTENT, id, null, null);
+            default:
+                throw new InvalidBatchOperationException("unsupported action " + operation.getAction());
+        }
+    }
+
+    private BatchResultDTO create(int index, BatchOperationDTO.Resource resource, JsonNode body, BatchContext context) {
+        switch (resource) {
+            case AUTHORS:
+                AuthorDTO createdAuthorDTO = authorService.create(read(body, AuthorDTO.class));
+                return BatchResultDTO.succeeded(index, HttpStatus.CREATED, createdAuthorDTO.getId(), createdAuthorDTO.getVersion(), createdAuthorDTO);
+            case PUBLISHERS:
+                PublisherDTO createdPublisherDTO = publisherService.create(read(body, PublisherDTO.class));
+                return BatchResultDTO.succeeded(index, HttpStatus.CREATED, createdPublisherDTO.getId(), createdPublisherDTO.getVersion(), createdPublisherDTO);
+            default:
+                BookResponseDTO createdBookDTO = bookService.create(read(body, BookRequestDTO.class), context.owner());
+                return BatchResultDTO.succeeded(index, HttpStatus.CREATED, createdBookDTO.getId(), createdBookDTO.getVersion(), createdBookDTO);
+        }
+    }
+
+    private BatchResultDTO update(int index, BatchOperationDTO.Resource resource, Long id, JsonNode patch, Long expectedVersion) {
+        if (patch == null) {
+            throw new InvalidBatchOperationException("an update needs a merge patch body");
+        }
+        switch (resource) {
+            case AUTHORS:
+                AuthorDTO patchedAuthorDTO = authorService.patch(id, patch, expectedVersion);
+                return BatchResultDTO.succeeded(index, HttpStatus.OK, id, patchedAuthorDTO.getVersion(), patchedAuthorDTO);
+            case PUBLISHERS:
+                PublisherDTO patchedPublisherDTO = publisherService.patch(id, patch, expectedVersion);
+                return BatchResultDTO.succeeded(index, HttpStatus.OK, id, patchedPublisherDTO.getVersion(), patchedPublisherDTO);
+            default:
+                BookResponseDTO patchedBookDTO = bookService.patch(id, patch, expectedVersion);
+                return BatchResultDTO.succeeded(index, HttpStatus.OK, id, patchedBookDTO.getVersion(), patchedBookDTO);
+        }
+    }
+
+    private void delete(BatchOperationDTO.Resource resource, Long id, Long expectedVersion) {
+        switch (resource) {
+            case AUTHORS:
+                authorService.delete(id, expectedVersion);
+                break;
+            case PUBLISHERS:
+                publisherService.delete(id, expectedVersion);
+                break;
+            default:
+                bookService.delete(id, expectedVersion);
+        }
+    }
+
+    private <T> T read(JsonNode body, Class<T> type) {
+        if (body == null || !body.isObject()) {
+            throw new InvalidBatchOperationException("a create needs a JSON object body");
+        }
+        T value;
+        try {
+            value = objectMapper.treeToValue(body, type);
+        } catch (JsonProcessingException exception) {
+            throw new InvalidBatchOperationException("the body does not match the resource, " + exception.getOriginalMessage());
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(value);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return value;
+    }
+
+    private Long resolveId(JsonNode id, BatchContext context) {
+        if (id == null || id.isNull()) {
+            throw new InvalidBatchOperationException("updates and deletes need an id");
+        }
+        if (id.canConvertToLong() && id.isIntegralNumber()) {
+            return id.asLong();
+        }
+        if (id.isTextual()) {
+            return context.resolve(id.asText());
+        }
+        throw new InvalidBatchOperationException("id " + id + " is neither a number nor a $reference");
+    }
+
+    // only id fields are resolved, so a name or code that happens to start with $ is never rewritten
+    private JsonNode resolveReferences(JsonNode body, BatchContext context) {
+        if (body == null || !body.isObject()) {
+            return body;
+        }
+        ObjectNode resolved = ((ObjectNode) body).deepCopy();
+        Iterator<Map.Entry<String, JsonNode>> fields = body.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            boolean idField = field.getKey().equals("id") || field.getKey().endsWith("Id");
+            if (idField && field.getValue().isTextual() && field.getValue().asText().startsWith(REFERENCE_PREFIX)) {
+                resolved.set(field.getKey(), LongNode.valueOf(context.resolve(field.getValue().asText())));
+            }
+        }
+        return resolved;
+    }
+
+    private static HttpStatus statusOf(RuntimeException exception) {
+        if (exception instanceof EntityNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (exception instanceof PreconditionFailedException || exception instanceof OptimisticLockingFailureException) {
+            return HttpStatus.PRECONDITION_FAILED;
+        }
+        if (exception instanceof EntityExistsException
+                || exception instanceof ConstraintViolationException
+                || exception instanceof InvalidMergePatchException
+                || exception instanceof InvalidBatchOperationException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        return null;
+    }
+
+    private class BatchContext {
+
+        private final Map<String, Long> createdIds = new HashMap<>();
+
+        private final String username;
+
+        private User owner;
+
+        private BatchContext(String username) {
+            this.username = username;
+        }
+
+        private Long resolve(String reference) {
+            Long id = reference.startsWith(REFERENCE_PREFIX) ? createdIds.get(reference.substring(REFERENCE_PREFIX.length())) : null;
+            if (id == null) {
+                throw new InvalidBatchOperationException(reference + " does not name an id created earlier in the batch");
+            }
+            return id;
+        }
+
+        // books are owned by the caller, looked up once however many books the batch creates
+        private User owner() {
+            if (owner == null) {
+                owner = userRepository.findByUsername(username)
+                        .orElseThrow(() -> new UsernameNotFoundException(String.format("User not found with username %s", username)));
+            }
+            return owner;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.rodrigopeleias.bookstoremanager.batch;
+
+public class InvalidBatchOperationException extends RuntimeException {
+    public InvalidBatchOperationException(String reason) {
+        super("Batch operation can not be executed, " + reason + "!");
+    }
+}
@@ -1,5 +1,6 @@
 package com.rodrigopeleias.bookstoremanager.books.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.rodrigopeleias.bookstoremanager.author.dto.AuthorDTO;
 import com.rodrigopeleias.bookstoremanager.publishers.dto.PublisherDTO;
 import lombok.AllArgsConstructor;
@@ -25,4 +26,7 @@ public class BookResponseDTO {
 
     private PublisherDTO publisher;
 
+    @JsonIgnore
+    private Long version;
+
 }
@@ -5,11 +5,18 @@ import com.rodrigopeleias.bookstoremanager.entity.Auditable;
 import com.rodrigopeleias.bookstoremanager.publishers.entity.Publisher;
 import com.rodrigopeleias.bookstoremanager.users.entity.User;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
 
 @Data
 @Entity
+@DynamicUpdate
+@SQLDelete(sql = "update book set deleted = true, deleted_date = now(), version = version + 1 where id = ? and version = ?")
+@Where(clause = "deleted = false")
+@Table(indexes = @Index(name = "idx_book_last_modified", columnList = "lastModifiedDate, id"))
 public class Book extends Auditable  {
 
     @Id
@@ -0,0 +1,9 @@
+package com.rodrigopeleias.bookstoremanager.books.exception;
+
+import com.rodrigopeleias.bookstoremanager.exception.DomainEntityNotFoundException;
+
+public class BookNotFoundException extends DomainEntityNotFoundException {
+    public BookNotFoundException(Long id) {
+        super("Book with id " + id + " not exists!");
+    }
+}
@@ -0,0 +1,45 @@
+package com.rodrigopeleias.bookstoremanager.books.mapper;
+
+import com.rodrigopeleias.bookstoremanager.books.dto.BookRequestDTO;
+import com.rodrigopeleias.bookstoremanager.books.dto.BookResponseDTO;
+import com.rodrigopeleias.bookstoremanager.books.entity.Book;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface BookMapper {
+
+    BookMapper INSTANCE = Mappers.getMapper(BookMapper.class);
+
+    BookResponseDTO toDTO(Book book);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "author", ignore = true)
+    @Mapping(target = "publisher", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "deletedDate", ignore = true)
+    Book toModel(BookRequestDTO bookRequestDTO);
+
+    @Mapping(source = "author.id", target = "authorId")
+    @Mapping(source = "publisher.id", target = "publisherId")
+    BookRequestDTO toRequestDTO(Book book);
+
+    // author and publisher are resolved by the service, they need an existence check before being swapped
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "author", ignore = true)
+    @Mapping(target = "publisher", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "deletedDate", ignore = true)
+    void updateModel(BookRequestDTO bookRequestDTO, @MappingTarget Book book);
+
+}
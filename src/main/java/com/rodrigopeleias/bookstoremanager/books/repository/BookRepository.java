@@ -1,8 +1,17 @@
 package com.rodrigopeleias.bookstoremanager.books.repository;
 
-import com.rodrigopeleias.bookstoremanager.author.entity.Author;
 import com.rodrigopeleias.bookstoremanager.books.entity.Book;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 
 public interface BookRepository extends JpaRepository<Book, Long>  {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.deleted = true, b.deletedDate = :deletedDate, b.version = b.version + 1"
+            + " where b.id = :id and b.deleted = false and b.version = coalesce(:version, b.version)")
+    int softDeleteById(@Param("id") Long id, @Param("version") Long expectedVersion, @Param("deletedDate") LocalDateTime deletedDate);
 }
@@ -0,0 +1,143 @@
+package com.rodrigopeleias.bookstoremanager.books.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rodrigopeleias.bookstoremanager.author.entity.Author;
+import com.rodrigopeleias.bookstoremanager.author.exception.AuthorNotFoundException;
+import com.rodrigopeleias.bookstoremanager.author.repository.AuthorRepository;
+import com.rodrigopeleias.bookstoremanager.books.dto.BookRequestDTO;
+import com.rodrigopeleias.bookstoremanager.books.dto.BookResponseDTO;
+import com.rodrigopeleias.bookstoremanager.books.entity.Book;
+import com.rodrigopeleias.bookstoremanager.books.exception.BookNotFoundException;
+import com.rodrigopeleias.bookstoremanager.books.mapper.BookMapper;
+import com.rodrigopeleias.bookstoremanager.books.repository.BookRepository;
+import com.rodrigopeleias.bookstoremanager.changes.ChangeEvent;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaPageDTO;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaQuery;
+import com.rodrigopeleias.bookstoremanager.patch.MergePatch;
+import com.rodrigopeleias.bookstoremanager.precondition.EntityVersionTag;
+import com.rodrigopeleias.bookstoremanager.precondition.PreconditionFailedException;
+import com.rodrigopeleias.bookstoremanager.publishers.entity.Publisher;
+import com.rodrigopeleias.bookstoremanager.publishers.exception.PublisherNotFoundException;
+import com.rodrigopeleias.bookstoremanager.publishers.repository.PublisherRepository;
+import com.rodrigopeleias.bookstoremanager.users.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Service
+public class BookService {
+
+    private final static BookMapper bookMapper = BookMapper.INSTANCE;
+
+    private static final String CHANGE_TYPE = "book";
+
+    // every to-one side of a book is eager, fetch them with the page instead of one select per row
+    private static final String FETCH_JOINS = " left join fetch e.author left join fetch e.publisher left join fetch e.user";
+
+    private BookRepository bookRepository;
+
+    private AuthorRepository authorRepository;
+
+    private PublisherRepository publisherRepository;
+
+    private DeltaQuery deltaQuery;
+
+    private MergePatch mergePatch;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public BookService(BookRepository bookRepository, AuthorRepository authorRepository, PublisherRepository publisherRepository,
+                       DeltaQuery deltaQuery, MergePatch mergePatch, ApplicationEventPublisher eventPublisher) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.publisherRepository = publisherRepository;
+        this.deltaQuery = deltaQuery;
+        this.mergePatch = mergePatch;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public BookResponseDTO create(BookRequestDTO bookRequestDTO, User owner) {
+        Book bookToCreate = bookMapper.toModel(bookRequestDTO);
+        bookToCreate.setAuthor(verifyAndGetAuthor(bookRequestDTO.getAuthorId()));
+        bookToCreate.setPublisher(verifyAndGetPublisher(bookRequestDTO.getPublisherId()));
+        bookToCreate.setUser(owner);
+        Book createdBook = bookRepository.save(bookToCreate);
+        eventPublisher.publishEvent(ChangeEvent.created(CHANGE_TYPE, createdBook.getId(), createdBook.getLastModifiedDate()));
+        return bookMapper.toDTO(createdBook);
+    }
+
+    public DeltaPageDTO<BookResponseDTO> findChanges(String since) {
+        return deltaQuery.changesSince(Book.class, CHANGE_TYPE, since, Book::getId, bookMapper::toDTO, FETCH_JOINS);
+    }
+
+    @Transactional
+    public BookResponseDTO patch(Long id, JsonNode patch, Long expectedVersion) {
+        return patch(verifyAndGetBook(id), patch, expectedVersion);
+    }
+
+    // for callers that are not admins, the book must belong to them before anything about it is changed
+    @Transactional
+    public BookResponseDTO patchOwnBook(Long id, JsonNode patch, Long expectedVersion, String username) {
+        Book bookToPatch = verifyAndGetBook(id);
+        if (bookToPatch.getUser() == null || !bookToPatch.getUser().getUsername().equals(username)) {
+            throw new AccessDeniedException(String.format("Book with id %s is not owned by %s", id, username));
+        }
+        return patch(bookToPatch, patch, expectedVersion);
+    }
+
+    private BookResponseDTO patch(Book bookToPatch, JsonNode patch, Long expectedVersion) {
+        Long id = bookToPatch.getId();
+        EntityVersionTag.verifyIfMatch(CHANGE_TYPE, id, bookToPatch.getVersion(), expectedVersion);
+        BookRequestDTO currentBookDTO = bookMapper.toRequestDTO(bookToPatch);
+        BookRequestDTO patchedBookDTO = mergePatch.apply(bookMapper.toRequestDTO(bookToPatch), patch);
+        if (patchedBookDTO.equals(currentBookDTO)) {
+            return bookMapper.toDTO(bookToPatch);
+        }
+
+        if (!Objects.equals(patchedBookDTO.getAuthorId(), currentBookDTO.getAuthorId())) {
+            bookToPatch.setAuthor(verifyAndGetAuthor(patchedBookDTO.getAuthorId()));
+        }
+        if (!Objects.equals(patchedBookDTO.getPublisherId(), currentBookDTO.getPublisherId())) {
+            bookToPatch.setPublisher(verifyAndGetPublisher(patchedBookDTO.getPublisherId()));
+        }
+        // dynamic update, so the flush only writes the columns the patch changed
+        bookMapper.updateModel(patchedBookDTO, bookToPatch);
+        Book patchedBook = bookRepository.saveAndFlush(bookToPatch);
+        eventPublisher.publishEvent(ChangeEvent.updated(CHANGE_TYPE, id, patchedBook.getLastModifiedDate()));
+        return bookMapper.toDTO(patchedBook);
+    }
+
+    @Transactional
+    public void delete(Long id, Long expectedVersion) {
+        if (bookRepository.softDeleteById(id, expectedVersion, LocalDateTime.now()) == 0) {
+            if (expectedVersion != null && bookRepository.existsById(id)) {
+                throw new PreconditionFailedException(CHANGE_TYPE, id);
+            }
+            throw new BookNotFoundException(id);
+        }
+        // records the tombstone delta sync hands out for the removed book
+        eventPublisher.publishEvent(ChangeEvent.deleted(CHANGE_TYPE, id));
+    }
+
+    private Book verifyAndGetBook(Long id) {
+        return bookRepository.findById(id)
+                .orElseThrow(() -> new BookNotFoundException(id));
+    }
+
+    // authors and publishers written earlier in the same transaction come from the persistence context, not a select
+    private Author verifyAndGetAuthor(Long authorId) {
+        return authorRepository.findById(authorId)
+                .orElseThrow(() -> new AuthorNotFoundException(authorId));
+    }
+
+    private Publisher verifyAndGetPublisher(Long publisherId) {
+        return publisherRepository.findById(publisherId)
+                .orElseThrow(() -> new PublisherNotFoundException(publisherId));
+    }
+}
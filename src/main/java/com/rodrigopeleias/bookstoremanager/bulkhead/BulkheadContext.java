@@ -0,0 +1,23 @@
+package com.rodrigopeleias.bookstoremanager.bulkhead;
+
+import com.rodrigopeleias.bookstoremanager.concurrency.RouteGroup;
+
+public final class BulkheadContext {
+
+    private static final ThreadLocal<RouteGroup> CURRENT = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    public static void enter(RouteGroup group) {
+        CURRENT.set(group);
+    }
+
+    public static RouteGroup current() {
+        return CURRENT.get();
+    }
+
+    public static void exit() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,53 @@
+package com.rodrigopeleias.bookstoremanager.bulkhead;
+
+import com.rodrigopeleias.bookstoremanager.concurrency.RouteGroup;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+// One Hikari pool per route group plus a default pool for everything else, so a burst of admin writes
+// can exhaust its own connections but never the ones catalog reads depend on.
+@Configuration
+@ConditionalOnProperty(name = "bulkhead.enabled", matchIfMissing = true)
+public class BulkheadDataSourceConfig {
+
+    private static final String POOL_NAME_PREFIX = "bookstore-";
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry, Environment environment) {
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        Map<Object, Object> pools = new HashMap<>();
+        for (RouteGroup group : RouteGroup.values()) {
+            int poolSize = environment.getProperty("bulkhead." + group.getName() + ".pool-size", Integer.class, DEFAULT_POOL_SIZE);
+            pools.put(group, pool(dataSourceProperties, metricsTrackerFactory, group.getName(), poolSize));
+        }
+
+        BulkheadRoutingDataSource dataSource = new BulkheadRoutingDataSource();
+        dataSource.setTargetDataSources(pools);
+        dataSource.setDefaultTargetDataSource(pool(dataSourceProperties, metricsTrackerFactory, "default",
+                environment.getProperty("bulkhead.default.pool-size", Integer.class, DEFAULT_POOL_SIZE)));
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties dataSourceProperties,
+                                         MicrometerMetricsTrackerFactory metricsTrackerFactory,
+                                         String name, int poolSize) {
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(POOL_NAME_PREFIX + name);
+        pool.setMaximumPoolSize(poolSize);
+        pool.setMetricsTrackerFactory(metricsTrackerFactory);
+        return pool;
+    }
+}
@@ -0,0 +1,107 @@
+package com.rodrigopeleias.bookstoremanager.bulkhead;
+
+import com.rodrigopeleias.bookstoremanager.concurrency.RouteGroup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final String METRIC_PREFIX = "bookstore.bulkhead";
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private static final int DEFAULT_MAX_CONCURRENT = 50;
+
+    private static final Duration DEFAULT_MAX_WAIT = Duration.ofMillis(50);
+
+    private final boolean enabled;
+
+    private final Map<RouteGroup, ExecutionBulkhead> bulkheads = new EnumMap<>(RouteGroup.class);
+
+    private final Map<RouteGroup, Counter> rejections = new EnumMap<>(RouteGroup.class);
+
+    public BulkheadFilter(MeterRegistry meterRegistry, Environment environment,
+                          @Value("${bulkhead.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        for (RouteGroup group : RouteGroup.values()) {
+            String prefix = "bulkhead." + group.getName() + ".";
+            ExecutionBulkhead bulkhead = new ExecutionBulkhead(
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, DEFAULT_MAX_CONCURRENT),
+                    environment.getProperty(prefix + "max-wait", Duration.class, DEFAULT_MAX_WAIT));
+            bulkheads.put(group, bulkhead);
+            Gauge.builder(METRIC_PREFIX + ".active", bulkhead, ExecutionBulkhead::getActive)
+                    .description("Requests currently executing inside the bulkhead")
+                    .tag("group", group.getName())
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".capacity", bulkhead, ExecutionBulkhead::getMaxConcurrent)
+                    .description("Maximum concurrent requests the bulkhead admits")
+                    .tag("group", group.getName())
+                    .register(meterRegistry);
+            rejections.put(group, Counter.builder(METRIC_PREFIX + ".rejected")
+                    .description("Requests rejected because the bulkhead stayed full for longer than its max wait")
+                    .tag("group", group.getName())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Optional<RouteGroup> group = RouteGroup.of(request);
+        if (group.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ExecutionBulkhead bulkhead = bulkheads.get(group.get());
+        if (!enter(bulkhead)) {
+            rejections.get(group.get()).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            return;
+        }
+
+        BulkheadContext.enter(group.get());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            BulkheadContext.exit();
+            bulkhead.exit();
+        }
+    }
+
+    ExecutionBulkhead bulkheadFor(RouteGroup group) {
+        return bulkheads.get(group);
+    }
+
+    private static boolean enter(ExecutionBulkhead bulkhead) {
+        try {
+            return bulkhead.tryEnter();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.rodrigopeleias.bookstoremanager.bulkhead;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+
+public class BulkheadRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return BulkheadContext.current();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (DataSource pool : getResolvedDataSources().values()) {
+            close(pool);
+        }
+        close(getResolvedDefaultDataSource());
+    }
+
+    private static void close(DataSource pool) throws IOException {
+        if (pool instanceof Closeable) {
+            ((Closeable) pool).close();
+        }
+    }
+}
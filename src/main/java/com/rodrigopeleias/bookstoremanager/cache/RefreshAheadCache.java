@@ -0,0 +1,185 @@
+package com.rodrigopeleias.bookstoremanager.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+public class RefreshAheadCache<K, V> {
+
+    private static final Log LOG = LogFactory.getLog(RefreshAheadCache.class);
+
+    private static final String METRIC_NAME = "bookstore.cache";
+
+    // entries are reloaded in the background once they are this far into their ttl
+    private static final double REFRESH_AHEAD_FACTOR = 0.8;
+
+    private static final Executor REFRESH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    // bumped by every invalidation so loads that started before a write never repopulate the cache
+    private final AtomicLong generation = new AtomicLong();
+
+    private final SingleFlight<K, V> singleFlight;
+
+    private final long ttlNanos;
+
+    private final long refreshAfterNanos;
+
+    private final Executor refreshExecutor;
+
+    private final LongSupplier clock;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter refreshes;
+
+    private final Counter evictions;
+
+    public RefreshAheadCache(String name, Duration ttl) {
+        this(name, ttl, REFRESH_EXECUTOR, System::nanoTime);
+    }
+
+    RefreshAheadCache(String name, Duration ttl, Executor refreshExecutor, LongSupplier clock) {
+        this.singleFlight = new SingleFlight<>(name);
+        this.ttlNanos = ttl.toNanos();
+        this.refreshAfterNanos = (long) (ttlNanos * REFRESH_AHEAD_FACTOR);
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.hits = Metrics.counter(METRIC_NAME, "name", name, "result", "hit");
+        this.misses = Metrics.counter(METRIC_NAME, "name", name, "result", "miss");
+        this.refreshes = Metrics.counter(METRIC_NAME, "name", name, "result", "refresh");
+        this.evictions = Metrics.counter(METRIC_NAME, "name", name, "result", "eviction");
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        long now = clock.getAsLong();
+        Entry<V> entry = entries.get(key);
+        if (entry == null || now - entry.loadedAt >= ttlNanos) {
+            misses.increment();
+            return load(key, loader);
+        }
+
+        hits.increment();
+        entry.lastAccessedAt = now;
+        if (now - entry.loadedAt >= refreshAfterNanos) {
+            refreshAsync(key, entry);
+        }
+        return entry.value;
+    }
+
+    public void put(K key, V value, Supplier<V> loader) {
+        long now = clock.getAsLong();
+        entries.put(key, new Entry<>(value, loader, now));
+    }
+
+    public void invalidate(K key) {
+        synchronized (generation) {
+            generation.incrementAndGet();
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (generation) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    // reloads entries read within the last ttl before they expire and drops the cold ones that already have
+    public void refreshHotEntries() {
+        long now = clock.getAsLong();
+        for (Map.Entry<K, Entry<V>> cached : entries.entrySet()) {
+            Entry<V> entry = cached.getValue();
+            boolean hot = now - entry.lastAccessedAt < ttlNanos;
+            long age = now - entry.loadedAt;
+            if (hot && age >= refreshAfterNanos) {
+                refreshAsync(cached.getKey(), entry);
+            } else if (!hot && age >= ttlNanos && entries.remove(cached.getKey(), entry)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private V load(K key, Supplier<V> loader) {
+        long loadGeneration = generation.get();
+        V value = singleFlight.execute(key, loader);
+        store(key, value, loader, loadGeneration, null);
+        return value;
+    }
+
+    private void refreshAsync(K key, Entry<V> entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refreshes.increment();
+        refreshExecutor.execute(() -> {
+            long loadGeneration = generation.get();
+            try {
+                V value = singleFlight.execute(key, entry.loader);
+                store(key, value, entry.loader, loadGeneration, entry);
+            } catch (SingleFlightTimeoutException exception) {
+                // another load of the key is still running, keep serving the entry and let a later read retry
+                entry.refreshing.set(false);
+            } catch (RuntimeException exception) {
+                LOG.debug("Dropping cache entry " + key + " after a failed refresh", exception);
+                entries.remove(key, entry);
+            }
+        });
+    }
+
+    private void store(K key, V value, Supplier<V> loader, long loadGeneration, Entry<V> previous) {
+        Entry<V> loaded = new Entry<>(value, loader, clock.getAsLong());
+        if (previous != null) {
+            loaded.lastAccessedAt = previous.lastAccessedAt;
+        }
+        synchronized (generation) {
+            if (generation.get() == loadGeneration) {
+                entries.put(key, loaded);
+            }
+        }
+    }
+
+    private static class Entry<V> {
+
+        private final V value;
+
+        private final Supplier<V> loader;
+
+        private final long loadedAt;
+
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private volatile long lastAccessedAt;
+
+        private Entry(V value, Supplier<V> loader, long loadedAt) {
+            this.value = value;
+            this.loader = loader;
+            this.loadedAt = loadedAt;
+            this.lastAccessedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.rodrigopeleias.bookstoremanager.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+public class SingleFlight<K, V> {
+
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(2);
+
+    private static final String METRIC_NAME = "bookstore.singleflight";
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final long maxWaitNanos;
+
+    private final Counter loads;
+
+    private final Counter coalesced;
+
+    private final Counter timeouts;
+
+    public SingleFlight(String name) {
+        this(name, DEFAULT_MAX_WAIT);
+    }
+
+    public SingleFlight(String name, Duration maxWait) {
+        this.maxWaitNanos = maxWait.toNanos();
+        this.loads = Metrics.counter(METRIC_NAME, "name", name, "result", "load");
+        this.coalesced = Metrics.counter(METRIC_NAME, "name", name, "result", "coalesced");
+        this.timeouts = Metrics.counter(METRIC_NAME, "name", name, "result", "timeout");
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, call);
+        if (leader == null) {
+            return load(key, call, loader);
+        }
+
+        // a waiter never loads on its own, a slow leader would otherwise turn into a delayed stampede
+        coalesced.increment();
+        try {
+            return leader.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException exception) {
+            timeouts.increment();
+            throw new SingleFlightTimeoutException(key);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SingleFlightTimeoutException(key);
+        } catch (ExecutionException exception) {
+            throw rethrow(exception.getCause());
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V load(K key, CompletableFuture<V> call, Supplier<V> loader) {
+        loads.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error exception) {
+            call.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+}
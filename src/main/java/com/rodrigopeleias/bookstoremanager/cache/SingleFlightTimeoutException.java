@@ -0,0 +1,15 @@
+package com.rodrigopeleias.bookstoremanager.cache;
+
+import com.rodrigopeleias.bookstoremanager.exception.StacklessExceptions;
+
+public class SingleFlightTimeoutException extends RuntimeException {
+
+    public SingleFlightTimeoutException(Object key) {
+        super(String.format("Gave up waiting for the in-flight load of %s, retry later!", key));
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return StacklessExceptions.isEnabled() ? this : super.fillInStackTrace();
+    }
+}
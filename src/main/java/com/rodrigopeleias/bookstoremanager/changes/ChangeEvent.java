@@ -0,0 +1,33 @@
+package com.rodrigopeleias.bookstoremanager.changes;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class ChangeEvent {
+
+    private final String type;
+
+    private final Long id;
+
+    private final ChangeOperation operation;
+
+    private final LocalDateTime lastModifiedDate;
+
+    public static ChangeEvent created(String type, Long id, LocalDateTime lastModifiedDate) {
+        return new ChangeEvent(type, id, ChangeOperation.CREATED, lastModifiedDate);
+    }
+
+    public static ChangeEvent updated(String type, Long id, LocalDateTime lastModifiedDate) {
+        return new ChangeEvent(type, id, ChangeOperation.UPDATED, lastModifiedDate);
+    }
+
+    public static ChangeEvent deleted(String type, Long id) {
+        return new ChangeEvent(type, id, ChangeOperation.DELETED, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,152 @@
+package com.rodrigopeleias.bookstoremanager.changes;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class ChangeFeed implements DisposableBean {
+
+    private static final String METRIC_PREFIX = "bookstore.changes";
+
+    private static final char EVENT_ID_SEPARATOR = '-';
+
+    // sequences restart with the process, the epoch keeps a stale Last-Event-ID from matching new events
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final ReplayBuffer replayBuffer;
+
+    private final Set<ChangeSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService sender;
+
+    private final int subscriberQueueCapacity;
+
+    private final long streamTimeoutMillis;
+
+    private final Counter published;
+
+    private final Counter evicted;
+
+    public ChangeFeed(MeterRegistry meterRegistry,
+                      @Value("${changes.replay-capacity:1024}") int replayCapacity,
+                      @Value("${changes.subscriber-queue-capacity:256}") int subscriberQueueCapacity,
+                      @Value("${changes.stream-timeout:30m}") Duration streamTimeout,
+                      @Value("${changes.sender-threads:2}") int senderThreads) {
+        this.replayBuffer = new ReplayBuffer(replayCapacity);
+        this.subscriberQueueCapacity = subscriberQueueCapacity;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder(METRIC_PREFIX + ".subscribers", subscribers, Set::size)
+                .description("Open change stream connections")
+                .register(meterRegistry);
+        this.published = meterRegistry.counter(METRIC_PREFIX + ".published");
+        this.evicted = meterRegistry.counter(METRIC_PREFIX + ".evicted");
+    }
+
+    // runs after commit when the write happened inside a transaction, immediately otherwise
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        publish(event);
+    }
+
+    public synchronized void publish(ChangeEvent event) {
+        SequencedChange change = replayBuffer.append(event);
+        published.increment();
+        for (ChangeSubscriber subscriber : subscribers) {
+            if (!subscriber.offerChange(eventId(change), change)) {
+                evict(subscriber);
+            }
+        }
+    }
+
+    public synchronized SseEmitter subscribe(String lastEventId) {
+        ChangeSubscriber subscriber = new ChangeSubscriber(new SseEmitter(streamTimeoutMillis), subscriberQueueCapacity, sender);
+        SseEmitter emitter = subscriber.getEmitter();
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        if (lastEventId != null && !replay(subscriber, lastEventId)) {
+            subscriber.offerReset();
+        }
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @Scheduled(initialDelayString = "${changes.heartbeat-interval-millis:15000}", fixedDelayString = "${changes.heartbeat-interval-millis:15000}")
+    public void sendHeartbeats() {
+        for (ChangeSubscriber subscriber : subscribers) {
+            if (!subscriber.offerHeartbeat()) {
+                evict(subscriber);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(ChangeSubscriber::close);
+        subscribers.clear();
+        sender.shutdownNow();
+    }
+
+    private boolean replay(ChangeSubscriber subscriber, String lastEventId) {
+        Optional<Long> lastSequence = parseSequence(lastEventId);
+        if (lastSequence.isEmpty()) {
+            return false;
+        }
+        Optional<List<SequencedChange>> missed = replayBuffer.after(lastSequence.get());
+        if (missed.isEmpty() || missed.get().size() > subscriberQueueCapacity) {
+            return false;
+        }
+        missed.get().forEach(change -> subscriber.offerChange(eventId(change), change));
+        return true;
+    }
+
+    private String eventId(SequencedChange change) {
+        return epoch + EVENT_ID_SEPARATOR + change.getSequence();
+    }
+
+    private Optional<Long> parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf(EVENT_ID_SEPARATOR);
+        if (separator < 0 || !epoch.equals(eventId.substring(0, separator))) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(eventId.substring(separator + 1)));
+        } catch (NumberFormatException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private void evict(ChangeSubscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            evicted.increment();
+            subscriber.close();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.rodrigopeleias.bookstoremanager.changes;
+
+public enum ChangeOperation {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,16 @@
+package com.rodrigopeleias.bookstoremanager.changes;
+
+import javax.servlet.http.HttpServletRequest;
+
+public final class ChangeStream {
+
+    public static final String STREAM_PATH = "/api/v1/changes/stream";
+
+    private ChangeStream() {
+    }
+
+    // long lived event streams must never be buffered by filters that wrap the response
+    public static boolean isStreamRequest(HttpServletRequest request) {
+        return STREAM_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+}
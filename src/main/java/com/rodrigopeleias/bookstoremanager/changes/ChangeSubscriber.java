@@ -0,0 +1,97 @@
+package com.rodrigopeleias.bookstoremanager.changes;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class ChangeSubscriber {
+
+    static final String CHANGE_EVENT = "change";
+
+    static final String RESET_EVENT = "reset";
+
+    private final SseEmitter emitter;
+
+    private final BlockingQueue<SseEmitter.SseEventBuilder> pending;
+
+    private final Executor sender;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    ChangeSubscriber(SseEmitter emitter, int queueCapacity, Executor sender) {
+        this.emitter = emitter;
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        this.sender = sender;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean offerChange(String eventId, SequencedChange change) {
+        return offer(SseEmitter.event()
+                .id(eventId)
+                .name(CHANGE_EVENT)
+                .data(change.getEvent(), MediaType.APPLICATION_JSON));
+    }
+
+    boolean offerReset() {
+        return offer(SseEmitter.event().name(RESET_EVENT).data("{}", MediaType.APPLICATION_JSON));
+    }
+
+    boolean offerHeartbeat() {
+        return offer(SseEmitter.event().comment("heartbeat"));
+    }
+
+    // never blocks the publishing write path: a consumer that cannot keep up loses its connection
+    // and resumes from the replay buffer with Last-Event-ID
+    private boolean offer(SseEmitter.SseEventBuilder event) {
+        if (closed.get() || !pending.offer(event)) {
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            pending.clear();
+            emitter.complete();
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!closed.get() && (event = pending.poll()) != null) {
+                emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException exception) {
+            closed.set(true);
+            pending.clear();
+            emitter.completeWithError(exception);
+        } finally {
+            draining.set(false);
+        }
+        if (!closed.get() && !pending.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+}
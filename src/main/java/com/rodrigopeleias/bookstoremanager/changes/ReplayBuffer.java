@@ -0,0 +1,36 @@
+package com.rodrigopeleias.bookstoremanager.changes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+class ReplayBuffer {
+
+    private final SequencedChange[] changes;
+
+    private long nextSequence = 1;
+
+    ReplayBuffer(int capacity) {
+        this.changes = new SequencedChange[capacity];
+    }
+
+    SequencedChange append(ChangeEvent event) {
+        SequencedChange change = new SequencedChange(nextSequence, event);
+        changes[(int) (nextSequence % changes.length)] = change;
+        nextSequence++;
+        return change;
+    }
+
+    // empty when the client is further behind than the buffer reaches, the caller then has to resync from scratch
+    Optional<List<SequencedChange>> after(long lastSequence) {
+        long oldestRetained = Math.max(1, nextSequence - changes.length);
+        if (lastSequence < oldestRetained - 1 || lastSequence >= nextSequence) {
+            return Optional.empty();
+        }
+        List<SequencedChange> missed = new ArrayList<>((int) (nextSequence - lastSequence - 1));
+        for (long sequence = lastSequence + 1; sequence < nextSequence; sequence++) {
+            missed.add(changes[(int) (sequence % changes.length)]);
+        }
+        return Optional.of(missed);
+    }
+}
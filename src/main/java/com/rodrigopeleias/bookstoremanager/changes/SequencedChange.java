@@ -0,0 +1,13 @@
+package com.rodrigopeleias.bookstoremanager.changes;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SequencedChange {
+
+    private final long sequence;
+
+    private final ChangeEvent event;
+}
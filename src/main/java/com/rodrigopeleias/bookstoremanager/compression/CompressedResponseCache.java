@@ -0,0 +1,56 @@
+package com.rodrigopeleias.bookstoremanager.compression;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class CompressedResponseCache {
+
+    private final long maxBytes;
+
+    private final Map<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long currentBytes;
+
+    public CompressedResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public byte[] getOrCompress(String digest, ContentEncoding encoding, Supplier<byte[]> compressor) {
+        String key = encoding.getToken() + ':' + digest;
+        synchronized (this) {
+            byte[] cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        byte[] compressed = compressor.get();
+        if (compressed.length > maxBytes) {
+            return compressed;
+        }
+        synchronized (this) {
+            byte[] previous = entries.put(key, compressed);
+            currentBytes += compressed.length - (previous != null ? previous.length : 0);
+            evictToBudget();
+        }
+        return compressed;
+    }
+
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictToBudget() {
+        Iterator<byte[]> eldest = entries.values().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            currentBytes -= eldest.next().length;
+            eldest.remove();
+        }
+    }
+}
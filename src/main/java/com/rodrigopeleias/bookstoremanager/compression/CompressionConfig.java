@@ -0,0 +1,28 @@
+package com.rodrigopeleias.bookstoremanager.compression;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+@ConditionalOnProperty(name = "compression.enabled", havingValue = "true", matchIfMissing = true)
+public class CompressionConfig {
+
+    @Bean
+    public CompressedResponseCache compressedResponseCache(@Value("${compression.cache-max-size:16MB}") DataSize cacheMaxSize) {
+        return new CompressedResponseCache(cacheMaxSize.toBytes());
+    }
+
+    @Bean
+    public FilterRegistrationBean<CompressionFilter> compressionFilter(CompressedResponseCache compressedResponseCache,
+                                                                      @Value("${compression.min-size:1KB}") DataSize minSize) {
+        FilterRegistrationBean<CompressionFilter> registration =
+                new FilterRegistrationBean<>(new CompressionFilter(compressedResponseCache, (int) minSize.toBytes()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(0);
+        return registration;
+    }
+}
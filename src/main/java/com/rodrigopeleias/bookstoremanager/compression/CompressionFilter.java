@@ -0,0 +1,153 @@
+package com.rodrigopeleias.bookstoremanager.compression;
+
+import com.rodrigopeleias.bookstoremanager.changes.ChangeStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final CompressedResponseCache cache;
+
+    private final int minSize;
+
+    public CompressionFilter(CompressedResponseCache cache, int minSize) {
+        this.cache = cache;
+        this.minSize = minSize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || ChangeStream.isStreamRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        var responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+        responseWrapper.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (!isCacheable(responseWrapper)) {
+            responseWrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] body = responseWrapper.getContentAsByteArray();
+        String digest = DigestUtils.md5DigestAsHex(body);
+        ContentEncoding encoding = body.length < minSize ? null : negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String eTag = responseWrapper.getHeader(HttpHeaders.ETAG);
+        if (eTag == null) {
+            eTag = '"' + digest + '"';
+        }
+        if (encoding != null) {
+            eTag = encoding.variantETag(eTag);
+        }
+        responseWrapper.setHeader(HttpHeaders.ETAG, eTag);
+
+        if (matchesIfNoneMatch(request, eTag)) {
+            responseWrapper.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            responseWrapper.resetBuffer();
+            responseWrapper.copyBodyToResponse();
+            return;
+        }
+
+        if (encoding == null) {
+            responseWrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] compressed = cache.getOrCompress(digest, encoding, () -> encoding.compressUnchecked(body));
+        responseWrapper.resetBuffer();
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.getToken());
+        response.setContentLength(compressed.length);
+        response.getOutputStream().write(compressed);
+    }
+
+    private static boolean isCacheable(ContentCachingResponseWrapper response) {
+        if (response.getStatus() != HttpServletResponse.SC_OK || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return false;
+        }
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl != null && cacheControl.contains("no-store")) {
+            return false;
+        }
+        String contentType = response.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return "text".equals(mediaType.getType())
+                || mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                || (mediaType.getSubtype() != null && mediaType.getSubtype().endsWith("+json"));
+    }
+
+    private static boolean matchesIfNoneMatch(HttpServletRequest request, String eTag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        String weakInsensitiveETag = stripWeak(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if ("*".equals(trimmed) || stripWeak(trimmed).equals(weakInsensitiveETag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    static ContentEncoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        Set<ContentEncoding> accepted = EnumSet.noneOf(ContentEncoding.class);
+        for (String entry : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] tokenAndParameters = entry.trim().split(";");
+            if (isRejected(tokenAndParameters)) {
+                continue;
+            }
+            String token = tokenAndParameters[0].trim();
+            for (ContentEncoding encoding : ContentEncoding.values()) {
+                if (token.equals(encoding.getToken()) || token.equals("*")) {
+                    accepted.add(encoding);
+                }
+            }
+        }
+        for (ContentEncoding encoding : ContentEncoding.values()) {
+            if (accepted.contains(encoding) && encoding.isAvailable()) {
+                return encoding;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isRejected(String[] tokenAndParameters) {
+        for (int i = 1; i < tokenAndParameters.length; i++) {
+            String parameter = tokenAndParameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (NumberFormatException exception) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
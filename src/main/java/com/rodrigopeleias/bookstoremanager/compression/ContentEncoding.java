@@ -0,0 +1,96 @@
+package com.rodrigopeleias.bookstoremanager.compression;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+public enum ContentEncoding {
+
+    BROTLI("br") {
+        @Override
+        boolean isAvailable() {
+            return BrotliSupport.AVAILABLE;
+        }
+
+        @Override
+        byte[] compress(byte[] body) throws IOException {
+            return Encoder.compress(body, new Encoder.Parameters().setQuality(BROTLI_QUALITY));
+        }
+    },
+
+    GZIP("gzip") {
+        @Override
+        boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        byte[] compress(byte[] body) throws IOException {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body);
+            }
+            return compressed.toByteArray();
+        }
+    };
+
+    private static final int BROTLI_QUALITY = 9;
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    abstract boolean isAvailable();
+
+    abstract byte[] compress(byte[] body) throws IOException;
+
+    // every coding is a different representation and so gets its own tag, "3" becomes "3-gzip"
+    public String variantETag(String eTag) {
+        if (!eTag.endsWith("\"")) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + '-' + token + '"';
+    }
+
+    // the tag the identity representation carries, for checks that only care about the resource version
+    public static String identityETag(String eTag) {
+        for (ContentEncoding encoding : values()) {
+            String suffix = "-" + encoding.token + '"';
+            if (eTag.endsWith(suffix)) {
+                return eTag.substring(0, eTag.length() - suffix.length()) + '"';
+            }
+        }
+        return eTag;
+    }
+
+    public byte[] compressUnchecked(byte[] body) {
+        try {
+            return compress(body);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static final class BrotliSupport {
+
+        private static final boolean AVAILABLE = load();
+
+        private static boolean load() {
+            try {
+                return Brotli4jLoader.isAvailable();
+            } catch (LinkageError error) {
+                return false;
+            }
+        }
+    }
+}
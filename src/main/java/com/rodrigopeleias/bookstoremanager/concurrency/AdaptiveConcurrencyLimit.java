@@ -0,0 +1,114 @@
+package com.rodrigopeleias.bookstoremanager.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Gradient limit: shrinks when the short term latency drifts above the long term baseline and otherwise
+// grows by roughly sqrt(limit), so it settles just above the concurrency the service can absorb.
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_RTT_SMOOTHING = 2.0 / (10 + 1);
+
+    private static final double LONG_RTT_SMOOTHING = 2.0 / (600 + 1);
+
+    private static final double RTT_TOLERANCE = 1.5;
+
+    private static final double LIMIT_SMOOTHING = 0.2;
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    // the limit and both latency averages move together, so a sample swaps them as one snapshot instead of locking
+    private final AtomicReference<Estimate> estimate;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException(String.format("Invalid concurrency limit bounds [%d, %d]", minLimit, maxLimit));
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimate = new AtomicReference<>(new Estimate(clamp(initialLimit), 0, 0));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos, boolean sample) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (sample) {
+            onSample(rttNanos, inFlightAtCompletion);
+        }
+    }
+
+    public int getLimit() {
+        return (int) estimate.get().limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    void onSample(long rttNanos, int inFlightAtCompletion) {
+        while (true) {
+            Estimate current = estimate.get();
+            if (estimate.compareAndSet(current, next(current, rttNanos, inFlightAtCompletion))) {
+                return;
+            }
+        }
+    }
+
+    private Estimate next(Estimate current, long rttNanos, int inFlightAtCompletion) {
+        if (current.longRttNanos == 0) {
+            return new Estimate(current.limit, rttNanos, rttNanos);
+        }
+        double shortRttNanos = current.shortRttNanos + (rttNanos - current.shortRttNanos) * SHORT_RTT_SMOOTHING;
+        double longRttNanos = current.longRttNanos + (rttNanos - current.longRttNanos) * LONG_RTT_SMOOTHING;
+
+        // let the baseline follow latency back down once an overload has passed
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // while less than half of the limit is used the samples say nothing about whether it is too low
+        if (inFlightAtCompletion < current.limit / 2) {
+            return new Estimate(current.limit, shortRttNanos, longRttNanos);
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, RTT_TOLERANCE * longRttNanos / shortRttNanos));
+        double newLimit = current.limit * gradient + Math.sqrt(current.limit);
+        return new Estimate(clamp(current.limit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING), shortRttNanos, longRttNanos);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    private static final class Estimate {
+
+        private final double limit;
+
+        private final double shortRttNanos;
+
+        private final double longRttNanos;
+
+        private Estimate(double limit, double shortRttNanos, double longRttNanos) {
+            this.limit = limit;
+            this.shortRttNanos = shortRttNanos;
+            this.longRttNanos = longRttNanos;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.rodrigopeleias.bookstoremanager.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String METRIC_PREFIX = "bookstore.concurrency";
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final boolean enabled;
+
+    private final Map<RouteGroup, AdaptiveConcurrencyLimit> limits = new EnumMap<>(RouteGroup.class);
+
+    private final Map<RouteGroup, Counter> rejections = new EnumMap<>(RouteGroup.class);
+
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry,
+                                  @Value("${concurrency-limit.enabled:true}") boolean enabled,
+                                  @Value("${concurrency-limit.initial-limit:20}") int initialLimit,
+                                  @Value("${concurrency-limit.min-limit:5}") int minLimit,
+                                  @Value("${concurrency-limit.max-limit:200}") int maxLimit) {
+        this.enabled = enabled;
+        for (RouteGroup group : RouteGroup.values()) {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+            limits.put(group, limit);
+            Gauge.builder(METRIC_PREFIX + ".limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", group.getName())
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("Requests currently admitted by the concurrency limiter")
+                    .tag("group", group.getName())
+                    .register(meterRegistry);
+            rejections.put(group, Counter.builder(METRIC_PREFIX + ".rejected")
+                    .description("Requests shed with 503 because the concurrency limit was reached")
+                    .tag("group", group.getName())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Optional<RouteGroup> group = RouteGroup.of(request);
+        if (group.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveConcurrencyLimit limit = limits.get(group.get());
+        if (!limit.tryAcquire()) {
+            rejections.get(group.get()).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            limit.release(System.nanoTime() - start, completed && isSample(response.getStatus()));
+        }
+    }
+
+    // failed requests often return early and would make the latency look better than it is, and so do the
+    // 401 and 403 answers the security filters behind this one give before any controller runs
+    private static boolean isSample(int status) {
+        return status < 500 && status != HttpStatus.UNAUTHORIZED.value() && status != HttpStatus.FORBIDDEN.value();
+    }
+
+    AdaptiveConcurrencyLimit limitFor(RouteGroup group) {
+        return limits.get(group);
+    }
+}
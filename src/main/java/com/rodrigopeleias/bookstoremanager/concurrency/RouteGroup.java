@@ -0,0 +1,40 @@
+package com.rodrigopeleias.bookstoremanager.concurrency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.AntPathMatcher;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+import java.util.Optional;
+
+@Getter
+@AllArgsConstructor
+public enum RouteGroup {
+
+    BOOK_READS("book-reads", true, List.of("/api/v1/books/**")),
+    ADMIN_WRITES("admin-writes", false, List.of("/api/v1/authors/**", "/api/v1/publishers/**", "/api/v1/batch"));
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final String name;
+
+    private final boolean reads;
+
+    private final List<String> pathPatterns;
+
+    public static Optional<RouteGroup> of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean read = isRead(request.getMethod());
+        for (RouteGroup group : values()) {
+            if (group.reads == read && group.pathPatterns.stream().anyMatch(pattern -> PATH_MATCHER.match(pattern, path))) {
+                return Optional.of(group);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+}
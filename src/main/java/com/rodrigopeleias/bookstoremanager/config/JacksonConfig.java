@@ -0,0 +1,47 @@
+package com.rodrigopeleias.bookstoremanager.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+@Configuration
+public class JacksonConfig {
+
+    public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    @Bean
+    @Conditional(NotRestartClassLoaderCondition.class)
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer objectMapperTuningCustomizer() {
+        return builder -> builder
+                .featuresToDisable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM, SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .serializerByType(LocalDate.class, new LocalDateSerializer(DATE_FORMATTER))
+                .deserializerByType(LocalDate.class, new LocalDateDeserializer(DATE_FORMATTER));
+    }
+
+    // Blackbird generates accessors with LambdaMetafactory, which devtools' RestartClassLoader does not allow
+    static class NotRestartClassLoaderCondition implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return !JacksonConfig.class.getClassLoader().getClass().getName().endsWith("RestartClassLoader");
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.rodrigopeleias.bookstoremanager.config;
 
+import com.rodrigopeleias.bookstoremanager.flightrecorder.JwtValidationEvent;
+import com.rodrigopeleias.bookstoremanager.flightrecorder.RequestEndpoint;
+import com.rodrigopeleias.bookstoremanager.servertiming.ServerTimingContext;
 import com.rodrigopeleias.bookstoremanager.users.service.AuthenticationService;
 import com.rodrigopeleias.bookstoremanager.users.service.JwtTokenManger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +33,9 @@ public class JwtRequestFilter  extends OncePerRequestFilter {
         var username = "";
         var jwtToken = "";
 
+        long start = System.nanoTime();
+        var validationEvent = new JwtValidationEvent();
+        validationEvent.begin();
         var requestTokenHeader = request.getHeader("Authorization");
         if (isTokenPresent(requestTokenHeader)) {
             jwtToken = requestTokenHeader.substring(7);
@@ -41,9 +47,21 @@ public class JwtRequestFilter  extends OncePerRequestFilter {
         if (isUsernameInContext(username)) {
             addUserNameInContext(request, username, jwtToken);
         }
+        ServerTimingContext.recordJwt(System.nanoTime() - start);
+        commitValidationEvent(validationEvent, request, !jwtToken.isEmpty());
         filterChain.doFilter(request, response);
     }
 
+    private void commitValidationEvent(JwtValidationEvent validationEvent, HttpServletRequest request, boolean tokenPresent) {
+        validationEvent.end();
+        if (validationEvent.shouldCommit()) {
+            validationEvent.endpoint = RequestEndpoint.of(request);
+            validationEvent.tokenPresent = tokenPresent;
+            validationEvent.authenticated = SecurityContextHolder.getContext().getAuthentication() != null;
+            validationEvent.commit();
+        }
+    }
+
     private boolean isTokenPresent(String requestTokenHeader) {
         return requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ");
     }
@@ -1,10 +1,15 @@
 package com.rodrigopeleias.bookstoremanager.config;
 
+import com.rodrigopeleias.bookstoremanager.bulkhead.BulkheadFilter;
+import com.rodrigopeleias.bookstoremanager.concurrency.ConcurrencyLimitFilter;
+import com.rodrigopeleias.bookstoremanager.idempotency.IdempotencyFilter;
+import com.rodrigopeleias.bookstoremanager.servertiming.ServerTimingFilter;
 import com.rodrigopeleias.bookstoremanager.users.enums.Role;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
@@ -15,6 +20,7 @@ import org.springframework.security.config.annotation.web.configuration.WebSecur
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.access.intercept.FilterSecurityInterceptor;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
@@ -30,14 +36,27 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
     private static final String BOOKS_API_URL = "/api/v1/books/**";
 
+    private static final String CHANGES_API_URL = "/api/v1/changes/**";
+
+    private static final String BATCH_API_URL = "/api/v1/batch";
+
     private static final String H2_CONSOLE_URL = "/h2-console/**";
 
     private static final String SWAGGER_URL = "/swagger-ui.html";
 
+    private static final String PROMETHEUS_URL = "/actuator/prometheus";
+
+    private static final String FLIGHT_RECORDER_URL = "/actuator/flightrecorder/**";
+
+    private static final String HEALTH_URL = "/actuator/health/**";
+
     private static final String ROLE_ADMIN = Role.ADMIN.getDescription();
 
     private static final String ROLE_USER = Role.USER.getDescription();
 
+    // the scraper runs next to the app, anyone else needs an admin token to read the metrics
+    private static final String LOCAL_SCRAPE_OR_ADMIN = "hasIpAddress('127.0.0.1') or hasIpAddress('::1') or hasRole('" + ROLE_ADMIN + "')";
+
     private static final String[] SWAGGER_RESOURCES = {
             // -- swagger ui
             "/v2/api-docs",
@@ -57,6 +76,14 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
     private JwtRequestFilter jwtRequestFilter;
 
+    private ServerTimingFilter serverTimingFilter;
+
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    private BulkheadFilter bulkheadFilter;
+
+    private IdempotencyFilter idempotencyFilter;
+
     @Autowired
     public void configureGlobal(AuthenticationManagerBuilder auth) throws Exception {
         auth.userDetailsService(userDetailsService).passwordEncoder(passwordEncoder);
@@ -71,9 +98,12 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
     @Override
     protected void configure(HttpSecurity httpSecurity) throws Exception {
         httpSecurity.csrf().disable()
-                .authorizeRequests().antMatchers(USERS_API_URL, H2_CONSOLE_URL, SWAGGER_URL).permitAll()
-                .antMatchers(PUBLISHERS_API_URL, AUTHORS_API_URL).hasAnyRole(ROLE_ADMIN)
-                .antMatchers(BOOKS_API_URL).hasAnyRole(ROLE_ADMIN, ROLE_USER)
+                // a merge patch can rewrite any user's password or role, so it is never open like the rest of the users API
+                .authorizeRequests().antMatchers(HttpMethod.PATCH, USERS_API_URL).hasAnyRole(ROLE_ADMIN)
+                .antMatchers(USERS_API_URL, H2_CONSOLE_URL, SWAGGER_URL, HEALTH_URL).permitAll()
+                .antMatchers(PROMETHEUS_URL).access(LOCAL_SCRAPE_OR_ADMIN)
+                .antMatchers(PUBLISHERS_API_URL, AUTHORS_API_URL, BATCH_API_URL, FLIGHT_RECORDER_URL).hasAnyRole(ROLE_ADMIN)
+                .antMatchers(BOOKS_API_URL, CHANGES_API_URL).hasAnyRole(ROLE_ADMIN, ROLE_USER)
                 .anyRequest().authenticated()
                 .and()
                 .exceptionHandling().authenticationEntryPoint(jwtAuthenticationEntryPoint)
@@ -83,6 +113,10 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
         httpSecurity.headers().frameOptions().disable();
 
         httpSecurity.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+        httpSecurity.addFilterBefore(serverTimingFilter, JwtRequestFilter.class);
+        httpSecurity.addFilterBefore(concurrencyLimitFilter, ServerTimingFilter.class);
+        httpSecurity.addFilterAfter(bulkheadFilter, ConcurrencyLimitFilter.class);
+        httpSecurity.addFilterAfter(idempotencyFilter, FilterSecurityInterceptor.class);
     }
 
     @Override
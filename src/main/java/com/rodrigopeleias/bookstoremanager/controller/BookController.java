@@ -1,16 +1,41 @@
 package com.rodrigopeleias.bookstoremanager.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rodrigopeleias.bookstoremanager.books.dto.BookResponseDTO;
+import com.rodrigopeleias.bookstoremanager.books.service.BookService;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaPageDTO;
+import com.rodrigopeleias.bookstoremanager.patch.MergePatch;
+import com.rodrigopeleias.bookstoremanager.precondition.EntityVersionTag;
+import com.rodrigopeleias.bookstoremanager.users.enums.Role;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/api/v1/books")
 public class BookController {
 
+    private static final String ADMIN_AUTHORITY = "ROLE_" + Role.ADMIN.getDescription();
+
+    private BookService bookService;
+
+    @Autowired
+    public BookController(BookService bookService) {
+        this.bookService = bookService;
+    }
+
     @ApiOperation(value = "Return an example hello world")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Sucess method return")
@@ -20,4 +45,41 @@ public class BookController {
         return "Hello Bookstore Manager, I am running with PR!!";
     }
 
+    @ApiOperation(value = "Return books changed and deleted after the given watermark, in pages")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Changed books, deleted ids and the watermark to resume from"),
+            @ApiResponse(code = 400, message = "Invalid watermark"),
+            @ApiResponse(code = 410, message = "Watermark older than the retained deletions, a full resync is needed")
+    })
+    @GetMapping("/changes")
+    public DeltaPageDTO<BookResponseDTO> findChanges(@RequestParam(required = false) String since) {
+        return bookService.findChanges(since);
+    }
+
+    @ApiOperation(value = "Partial book update with a JSON merge patch, only the informed fields are changed")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success book patched"),
+            @ApiResponse(code = 400, message = "Invalid patch document or patched fields failing validation"),
+            @ApiResponse(code = 403, message = "Book owned by another user and the caller is not an admin"),
+            @ApiResponse(code = 404, message = "Book, author or publisher with informed id not found in the system"),
+            @ApiResponse(code = 412, message = "If-Match ETag is not the current book version"),
+            @ApiResponse(code = 415, message = "Patch not sent as application/merge-patch+json")
+    })
+    @PatchMapping(value = "/{id}", consumes = MergePatch.MEDIA_TYPE)
+    public ResponseEntity<BookResponseDTO> patch(@PathVariable Long id, @RequestBody JsonNode patch,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 Authentication authentication) {
+        Long expectedVersion = EntityVersionTag.parseIfMatch(ifMatch);
+        // admins patch any book, everyone else only the books they own
+        BookResponseDTO patchedBookDTO = isAdmin(authentication)
+                ? bookService.patch(id, patch, expectedVersion)
+                : bookService.patchOwnBook(id, patch, expectedVersion, authentication.getName());
+        return EntityVersionTag.withVersion(patchedBookDTO, patchedBookDTO.getVersion());
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> ADMIN_AUTHORITY.equals(authority.getAuthority()));
+    }
+
 }
@@ -0,0 +1,21 @@
+package com.rodrigopeleias.bookstoremanager.delta;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeltaPageDTO<T> {
+
+    private List<T> items;
+
+    private List<Long> deletedIds;
+
+    private String watermark;
+
+    private boolean hasMore;
+}
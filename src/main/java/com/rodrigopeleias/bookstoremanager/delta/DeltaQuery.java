@@ -0,0 +1,94 @@
+package com.rodrigopeleias.bookstoremanager.delta;
+
+import com.rodrigopeleias.bookstoremanager.entity.Auditable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@Transactional(readOnly = true)
+public class DeltaQuery {
+
+    private static final String TOMBSTONE_QUERY = "select t from Tombstone t"
+            + " where t.entityType = :entityType and t.deletedDate < :upperBound"
+            + " and (t.deletedDate > :deletedDate or (t.deletedDate = :deletedDate and t.id > :id))"
+            + " order by t.deletedDate, t.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int pageSize;
+
+    private final Duration settleTime;
+
+    private final Duration tombstoneRetention;
+
+    public DeltaQuery(@Value("${delta.page-size:500}") int pageSize,
+                      @Value("${delta.settle-time:2s}") Duration settleTime,
+                      @Value("${delta.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.pageSize = pageSize;
+        this.settleTime = settleTime;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    public <E extends Auditable, D> DeltaPageDTO<D> changesSince(Class<E> entityType, String changeType, String since,
+                                                                 Function<E, Long> idGetter, Function<E, D> mapper,
+                                                                 String fetchJoins) {
+        // rows stamped in the last moments may still belong to transactions that have not committed yet
+        LocalDateTime upperBound = LocalDateTime.now().minus(settleTime);
+        DeltaWatermark from = since == null ? initialWatermark(upperBound) : DeltaWatermark.decode(since);
+        if (since != null && from.getTombstoneDeletedDate().isBefore(LocalDateTime.now().minus(tombstoneRetention))) {
+            throw new DeltaWatermarkExpiredException();
+        }
+
+        List<E> rows = entityManager.createQuery("select e from " + entityType.getSimpleName() + " e" + fetchJoins
+                        + " where e.lastModifiedDate < :upperBound"
+                        + " and (e.lastModifiedDate > :modifiedDate or (e.lastModifiedDate = :modifiedDate and e.id > :id))"
+                        + " order by e.lastModifiedDate, e.id", entityType)
+                .setParameter("upperBound", upperBound)
+                .setParameter("modifiedDate", from.getRowModifiedDate())
+                .setParameter("id", from.getRowId())
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+        List<Tombstone> tombstones = entityManager.createQuery(TOMBSTONE_QUERY, Tombstone.class)
+                .setParameter("entityType", changeType)
+                .setParameter("upperBound", upperBound)
+                .setParameter("deletedDate", from.getTombstoneDeletedDate())
+                .setParameter("id", from.getTombstoneId())
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+
+        boolean moreRows = rows.size() > pageSize;
+        boolean moreTombstones = tombstones.size() > pageSize;
+        rows = moreRows ? rows.subList(0, pageSize) : rows;
+        tombstones = moreTombstones ? tombstones.subList(0, pageSize) : tombstones;
+
+        // a drained stream jumps to the upper bound so idle types do not keep an ever older watermark
+        E lastRow = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        Tombstone lastTombstone = tombstones.isEmpty() ? null : tombstones.get(tombstones.size() - 1);
+        DeltaWatermark to = new DeltaWatermark(
+                moreRows ? lastRow.getLastModifiedDate() : upperBound,
+                moreRows ? idGetter.apply(lastRow) : 0,
+                moreTombstones ? lastTombstone.getDeletedDate() : upperBound,
+                moreTombstones ? lastTombstone.getId() : 0);
+
+        return new DeltaPageDTO<>(
+                rows.stream().map(mapper).collect(Collectors.toList()),
+                tombstones.stream().map(Tombstone::getEntityId).collect(Collectors.toList()),
+                to.encode(),
+                moreRows || moreTombstones);
+    }
+
+    // a client starting from scratch has none of the deleted rows, so it only needs deletions from now on
+    private static DeltaWatermark initialWatermark(LocalDateTime upperBound) {
+        return new DeltaWatermark(LocalDateTime.of(1970, 1, 1, 0, 0), 0, upperBound, 0);
+    }
+}
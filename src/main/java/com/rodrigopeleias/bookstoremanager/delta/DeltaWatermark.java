@@ -0,0 +1,48 @@
+package com.rodrigopeleias.bookstoremanager.delta;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Keyset position over (lastModifiedDate, id) for live rows and (deletedDate, id) for tombstones,
+// handed to clients as an opaque token so the encoding can change without breaking them.
+@Getter
+@AllArgsConstructor
+public class DeltaWatermark {
+
+    private static final String VERSION = "v1";
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime rowModifiedDate;
+
+    private final long rowId;
+
+    private final LocalDateTime tombstoneDeletedDate;
+
+    private final long tombstoneId;
+
+    public String encode() {
+        String position = String.join(SEPARATOR, VERSION,
+                rowModifiedDate.toString(), String.valueOf(rowId),
+                tombstoneDeletedDate.toString(), String.valueOf(tombstoneId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static DeltaWatermark decode(String watermark) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(watermark), StandardCharsets.UTF_8).split("\\" + SEPARATOR);
+            if (position.length != 5 || !VERSION.equals(position[0])) {
+                throw new InvalidDeltaWatermarkException(watermark);
+            }
+            return new DeltaWatermark(LocalDateTime.parse(position[1]), Long.parseLong(position[2]),
+                    LocalDateTime.parse(position[3]), Long.parseLong(position[4]));
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new InvalidDeltaWatermarkException(watermark);
+        }
+    }
+}
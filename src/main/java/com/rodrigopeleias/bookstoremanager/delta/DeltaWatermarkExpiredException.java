@@ -0,0 +1,7 @@
+package com.rodrigopeleias.bookstoremanager.delta;
+
+public class DeltaWatermarkExpiredException extends RuntimeException {
+    public DeltaWatermarkExpiredException() {
+        super("Watermark is older than the retained deletions, start over without since!");
+    }
+}
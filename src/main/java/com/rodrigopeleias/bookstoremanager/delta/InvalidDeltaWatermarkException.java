@@ -0,0 +1,7 @@
+package com.rodrigopeleias.bookstoremanager.delta;
+
+public class InvalidDeltaWatermarkException extends RuntimeException {
+    public InvalidDeltaWatermarkException(String watermark) {
+        super("Watermark " + watermark + " is not valid, start over without since!");
+    }
+}
@@ -0,0 +1,42 @@
+package com.rodrigopeleias.bookstoremanager.delta;
+
+import com.rodrigopeleias.bookstoremanager.changes.ChangeEvent;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Component
+public class TombstoneRecorder {
+
+    private static final Log LOG = LogFactory.getLog(TombstoneRecorder.class);
+
+    private final TombstoneRepository tombstoneRepository;
+
+    private final Duration retention;
+
+    public TombstoneRecorder(TombstoneRepository tombstoneRepository,
+                             @Value("${delta.tombstone-retention:30d}") Duration retention) {
+        this.tombstoneRepository = tombstoneRepository;
+        this.retention = retention;
+    }
+
+    // a plain listener runs inside the deleting transaction, so the row and its tombstone commit or roll back together
+    @EventListener(condition = "#event.operation == T(com.rodrigopeleias.bookstoremanager.changes.ChangeOperation).DELETED")
+    public void onDelete(ChangeEvent event) {
+        tombstoneRepository.save(new Tombstone(event.getType(), event.getId(), event.getLastModifiedDate()));
+    }
+
+    @Scheduled(cron = "${delta.tombstone-purge-cron:0 30 3 * * *}")
+    public void purgeExpiredTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            LOG.info("Purged " + purged + " tombstones older than " + retention);
+        }
+    }
+}
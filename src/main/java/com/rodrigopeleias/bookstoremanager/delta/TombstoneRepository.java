@@ -0,0 +1,16 @@
+package com.rodrigopeleias.bookstoremanager.delta;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from Tombstone t where t.deletedDate < :horizon")
+    int deleteOlderThan(LocalDateTime horizon);
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import javax.persistence.Column;
 import javax.persistence.EntityListeners;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 
 @Getter
@@ -25,4 +26,16 @@ public abstract class Auditable {
     @Column
     protected LocalDateTime lastModifiedDate;
 
+    // rows are only flagged on the request path, SoftDeletePurger removes them later in batches
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    protected boolean deleted;
+
+    @Column
+    protected LocalDateTime deletedDate;
+
+    // exposed as the ETag, every update and soft delete is conditional on it and bumps it
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    protected Long version;
+
 }
@@ -0,0 +1,30 @@
+package com.rodrigopeleias.bookstoremanager.entity;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+// Writes rely on the database unique constraints instead of a select ahead of every insert,
+// so a violation has to be told apart from any other integrity failure by the constraint name.
+public class UniqueConstraints {
+
+    public static boolean isViolated(DataIntegrityViolationException exception, String... constraintNames) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String violated = ((ConstraintViolationException) cause).getConstraintName();
+                return violated != null && matchesAny(violated.toLowerCase(Locale.ROOT), constraintNames);
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAny(String violated, String... constraintNames) {
+        for (String constraintName : constraintNames) {
+            if (violated.contains(constraintName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
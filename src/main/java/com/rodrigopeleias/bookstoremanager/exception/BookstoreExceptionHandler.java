@@ -1,18 +1,29 @@
 package com.rodrigopeleias.bookstoremanager.exception;
 
+import com.rodrigopeleias.bookstoremanager.cache.SingleFlightTimeoutException;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaWatermarkExpiredException;
+import com.rodrigopeleias.bookstoremanager.delta.InvalidDeltaWatermarkException;
+import com.rodrigopeleias.bookstoremanager.multiget.MultiGetLimitExceededException;
+import com.rodrigopeleias.bookstoremanager.patch.InvalidMergePatchException;
+import com.rodrigopeleias.bookstoremanager.precondition.PreconditionFailedException;
+import com.rodrigopeleias.bookstoremanager.projection.InvalidFieldSelectionException;
+import org.springframework.boot.web.servlet.error.ErrorAttributes;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import javax.persistence.EntityExistsException;
 import javax.persistence.EntityNotFoundException;
-import java.time.LocalDateTime;
+import javax.validation.ConstraintViolationException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -20,18 +31,91 @@ import java.util.List;
 @ControllerAdvice
 public class BookstoreExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     @ExceptionHandler(EntityNotFoundException.class)
-    public ResponseEntity<Object> handleEntityNotFoundException(EntityNotFoundException exception) {
+    public ResponseEntity<Object> handleEntityNotFoundException(EntityNotFoundException exception, WebRequest request) {
+        exposeToMetrics(exception, request);
         return buildResponseEntity(HttpStatus.NOT_FOUND, exception.getMessage(), Collections.singletonList(exception.getMessage()));
     }
 
     @ExceptionHandler(EntityExistsException.class)
-    public ResponseEntity<Object> handleEntityExistsException(EntityExistsException exception) {
+    public ResponseEntity<Object> handleEntityExistsException(EntityExistsException exception, WebRequest request) {
+        exposeToMetrics(exception, request);
+        return buildResponseEntity(HttpStatus.BAD_REQUEST, exception.getMessage(), Collections.singletonList(exception.getMessage()));
+    }
+
+    @ExceptionHandler(MultiGetLimitExceededException.class)
+    public ResponseEntity<Object> handleMultiGetLimitExceededException(MultiGetLimitExceededException exception, WebRequest request) {
+        exposeToMetrics(exception, request);
+        return buildResponseEntity(HttpStatus.BAD_REQUEST, exception.getMessage(), Collections.singletonList(exception.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidFieldSelectionException.class)
+    public ResponseEntity<Object> handleInvalidFieldSelectionException(InvalidFieldSelectionException exception, WebRequest request) {
+        exposeToMetrics(exception, request);
+        return buildResponseEntity(HttpStatus.BAD_REQUEST, exception.getMessage(), Collections.singletonList(exception.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidDeltaWatermarkException.class)
+    public ResponseEntity<Object> handleInvalidDeltaWatermarkException(InvalidDeltaWatermarkException exception, WebRequest request) {
+        exposeToMetrics(exception, request);
+        return buildResponseEntity(HttpStatus.BAD_REQUEST, exception.getMessage(), Collections.singletonList(exception.getMessage()));
+    }
+
+    @ExceptionHandler(DeltaWatermarkExpiredException.class)
+    public ResponseEntity<Object> handleDeltaWatermarkExpiredException(DeltaWatermarkExpiredException exception, WebRequest request) {
+        exposeToMetrics(exception, request);
+        return buildResponseEntity(HttpStatus.GONE, exception.getMessage(), Collections.singletonList(exception.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidMergePatchException.class)
+    public ResponseEntity<Object> handleInvalidMergePatchException(InvalidMergePatchException exception, WebRequest request) {
+        exposeToMetrics(exception, request);
         return buildResponseEntity(HttpStatus.BAD_REQUEST, exception.getMessage(), Collections.singletonList(exception.getMessage()));
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Object> handlePreconditionFailedException(PreconditionFailedException exception, WebRequest request) {
+        exposeToMetrics(exception, request);
+        return buildResponseEntity(HttpStatus.PRECONDITION_FAILED, exception.getMessage(), Collections.singletonList(exception.getMessage()));
+    }
+
+    // a concurrent write bumped the version between the load and the versioned UPDATE of a patch
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(OptimisticLockingFailureException exception, WebRequest request) {
+        exposeToMetrics(exception, request);
+        String message = "The resource was changed by another request, reload it and retry with its current ETag!";
+        return buildResponseEntity(HttpStatus.PRECONDITION_FAILED, message, Collections.singletonList(message));
+    }
+
+    // the leader loading the same key is still running, waiting longer would only pile up request threads
+    @ExceptionHandler(SingleFlightTimeoutException.class)
+    public ResponseEntity<Object> handleSingleFlightTimeoutException(SingleFlightTimeoutException exception, WebRequest request) {
+        exposeToMetrics(exception, request);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        return buildResponseEntity(HttpStatus.SERVICE_UNAVAILABLE, headers, exception.getMessage(), Collections.singletonList(exception.getMessage()));
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<Object> handleAccessDeniedException(AccessDeniedException exception, WebRequest request) {
+        exposeToMetrics(exception, request);
+        return buildResponseEntity(HttpStatus.FORBIDDEN, exception.getMessage(), Collections.singletonList(exception.getMessage()));
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Object> handleConstraintViolationException(ConstraintViolationException exception, WebRequest request) {
+        exposeToMetrics(exception, request);
+        List<String> errors = new ArrayList<>();
+        exception.getConstraintViolations()
+                .forEach(violation -> errors.add("Field " + violation.getPropertyPath().toString().toUpperCase() + " " + violation.getMessage()));
+        return buildResponseEntity(HttpStatus.BAD_REQUEST, "Informed argument(s) validation erros(s)", errors);
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException exception, HttpHeaders headers, HttpStatus status, WebRequest request) {
+        exposeToMetrics(exception, request);
         List<String> errors = new ArrayList<>();
         exception.getBindingResult().getFieldErrors()
                 .forEach(fieldError -> errors.add("Field " + fieldError.getField().toUpperCase() + " " + fieldError.getDefaultMessage()));
@@ -42,19 +126,28 @@ public class BookstoreExceptionHandler extends ResponseEntityExceptionHandler {
 
     @Override
     protected ResponseEntity<Object> handleHttpMessageNotReadable(HttpMessageNotReadableException exception, HttpHeaders headers, HttpStatus status, WebRequest request) {
+        exposeToMetrics(exception, request);
         return buildResponseEntity(HttpStatus.BAD_REQUEST, "Malformed JSON body and/or field error", Collections.singletonList(exception.getLocalizedMessage()));
     }
 
+    private void exposeToMetrics(Exception exception, WebRequest request) {
+        request.setAttribute(ErrorAttributes.ERROR_ATTRIBUTE, exception, RequestAttributes.SCOPE_REQUEST);
+    }
+
     private ResponseEntity<Object> buildResponseEntity(HttpStatus httpStatus, String message, List<String> errors) {
+        return buildResponseEntity(httpStatus, HttpHeaders.EMPTY, message, errors);
+    }
+
+    private ResponseEntity<Object> buildResponseEntity(HttpStatus httpStatus, HttpHeaders headers, String message, List<String> errors) {
         ApiError apiError = ApiError.builder()
                 .code(httpStatus.value())
                 .status(httpStatus.getReasonPhrase())
                 .message(message)
                 .errors(errors)
-                .timestamp(LocalDateTime.now()).
+                .timestamp(SecondResolutionClock.now()).
                 build();
 
-        return ResponseEntity.status(httpStatus).body(apiError);
+        return ResponseEntity.status(httpStatus).headers(headers).body(apiError);
     }
 
 }
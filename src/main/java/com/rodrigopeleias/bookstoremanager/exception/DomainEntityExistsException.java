@@ -0,0 +1,15 @@
+package com.rodrigopeleias.bookstoremanager.exception;
+
+import javax.persistence.EntityExistsException;
+
+public abstract class DomainEntityExistsException extends EntityExistsException {
+
+    protected DomainEntityExistsException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return StacklessExceptions.isEnabled() ? this : super.fillInStackTrace();
+    }
+}
@@ -0,0 +1,15 @@
+package com.rodrigopeleias.bookstoremanager.exception;
+
+import javax.persistence.EntityNotFoundException;
+
+public abstract class DomainEntityNotFoundException extends EntityNotFoundException {
+
+    protected DomainEntityNotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return StacklessExceptions.isEnabled() ? this : super.fillInStackTrace();
+    }
+}
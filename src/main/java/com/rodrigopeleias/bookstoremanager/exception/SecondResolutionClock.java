@@ -0,0 +1,33 @@
+package com.rodrigopeleias.bookstoremanager.exception;
+
+import java.time.LocalDateTime;
+
+final class SecondResolutionClock {
+
+    private static volatile Tick current = new Tick(Long.MIN_VALUE, null);
+
+    private SecondResolutionClock() {
+    }
+
+    static LocalDateTime now() {
+        long epochSecond = System.currentTimeMillis() / 1000;
+        Tick tick = current;
+        if (tick.epochSecond != epochSecond) {
+            tick = new Tick(epochSecond, LocalDateTime.now().withNano(0));
+            current = tick;
+        }
+        return tick.dateTime;
+    }
+
+    private static final class Tick {
+
+        private final long epochSecond;
+
+        private final LocalDateTime dateTime;
+
+        private Tick(long epochSecond, LocalDateTime dateTime) {
+            this.epochSecond = epochSecond;
+            this.dateTime = dateTime;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.rodrigopeleias.bookstoremanager.exception;
+
+public final class StacklessExceptions {
+
+    private static volatile boolean enabled = true;
+
+    private StacklessExceptions() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        StacklessExceptions.enabled = enabled;
+    }
+}
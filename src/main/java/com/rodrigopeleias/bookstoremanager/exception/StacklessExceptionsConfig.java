@@ -0,0 +1,12 @@
+package com.rodrigopeleias.bookstoremanager.exception;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StacklessExceptionsConfig {
+
+    public StacklessExceptionsConfig(@Value("${exceptions.stackless.enabled:true}") boolean stackless) {
+        StacklessExceptions.setEnabled(stackless);
+    }
+}
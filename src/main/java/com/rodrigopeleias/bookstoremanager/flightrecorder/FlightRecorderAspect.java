@@ -0,0 +1,125 @@
+package com.rodrigopeleias.bookstoremanager.flightrecorder;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Aspect
+@Component
+public class FlightRecorderAspect {
+
+    private static final long NOT_A_ROW_SET = -1;
+
+    private final Map<Class<?>, Class<?>> repositoryInterfaces = new ConcurrentHashMap<>();
+
+    @Around("@within(org.springframework.stereotype.Service) && ("
+            + "within(com.rodrigopeleias.bookstoremanager.author..*) || "
+            + "within(com.rodrigopeleias.bookstoremanager.publishers..*) || "
+            + "within(com.rodrigopeleias.bookstoremanager.users..*) || "
+            + "within(com.rodrigopeleias.bookstoremanager.books..*))")
+    public Object recordServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            event.exception = throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = RequestEndpoint.current();
+                event.service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.method = joinPoint.getSignature().getName();
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object recordRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        Object result = null;
+        event.begin();
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable throwable) {
+            event.exception = throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Class<?> repositoryInterface = repositoryInterface(joinPoint.getThis().getClass());
+                event.endpoint = RequestEndpoint.current();
+                event.repository = repositoryInterface.getSimpleName();
+                event.method = joinPoint.getSignature().getName();
+                event.entityType = entityType(repositoryInterface);
+                event.rowCount = event.exception == null ? rowCount(joinPoint, result) : NOT_A_ROW_SET;
+                event.commit();
+            }
+        }
+    }
+
+    private Class<?> repositoryInterface(Class<?> proxyClass) {
+        return repositoryInterfaces.computeIfAbsent(proxyClass, type -> {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(candidate)
+                        && !candidate.getPackageName().startsWith("org.springframework")) {
+                    return candidate;
+                }
+            }
+            return type;
+        });
+    }
+
+    private static String entityType(Class<?> repositoryInterface) {
+        Class<?> domainType = ResolvableType.forClass(repositoryInterface).as(Repository.class).resolveGeneric(0);
+        return domainType != null ? domainType.getSimpleName() : "unknown";
+    }
+
+    private static long rowCount(ProceedingJoinPoint joinPoint, Object result) {
+        Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+        if (returnType == void.class || result instanceof Number || result instanceof Boolean) {
+            return NOT_A_ROW_SET;
+        }
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Iterable) {
+            long count = 0;
+            for (Object ignored : (Iterable<?>) result) {
+                count++;
+            }
+            return count;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,25 @@
+package com.rodrigopeleias.bookstoremanager.flightrecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.rodrigopeleias.bookstoremanager.JwtValidation")
+@Label("JWT Validation")
+@Description("Bearer token parsing and validation performed by JwtRequestFilter")
+@Category({"Bookstore", "Security"})
+@StackTrace(false)
+public class JwtValidationEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Token Present")
+    public boolean tokenPresent;
+
+    @Label("Authenticated")
+    public boolean authenticated;
+}
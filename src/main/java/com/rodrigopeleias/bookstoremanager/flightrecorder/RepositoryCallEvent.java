@@ -0,0 +1,35 @@
+package com.rodrigopeleias.bookstoremanager.flightrecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.rodrigopeleias.bookstoremanager.RepositoryCall")
+@Label("Repository Call")
+@Description("Invocation of a Spring Data repository method")
+@Category({"Bookstore", "Repository"})
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Row Count")
+    @Description("Rows returned by the call, -1 when the result is not a row set")
+    public long rowCount;
+
+    @Label("Exception")
+    public String exception;
+}
@@ -0,0 +1,28 @@
+package com.rodrigopeleias.bookstoremanager.flightrecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.rodrigopeleias.bookstoremanager.ServiceCall")
+@Label("Service Call")
+@Description("Invocation of a public method of a bookstore service")
+@Category({"Bookstore", "Service"})
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Service")
+    public String service;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Exception")
+    public String exception;
+}
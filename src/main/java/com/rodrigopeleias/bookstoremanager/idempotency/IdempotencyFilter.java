@@ -0,0 +1,192 @@
+package com.rodrigopeleias.bookstoremanager.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> CREATE_PATHS = Set.of("/api/v1/authors", "/api/v1/publishers", "/api/v1/users", "/api/v1/batch");
+
+    // framing headers describe a single transmission, everything else the first execution answered with is replayed
+    private static final Set<String> NOT_REPLAYED_HEADERS = Set.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, HttpHeaders.DATE, REPLAYED_HEADER);
+
+    private static final String ANONYMOUS_SCOPE = "anonymous";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final String METRIC_NAME = "bookstore.idempotency";
+
+    private final boolean enabled;
+
+    private final IdempotencyStore store;
+
+    private final long maxWaitNanos;
+
+    private final Counter executed;
+
+    private final Counter replayed;
+
+    private final Counter mismatched;
+
+    private final Counter conflicted;
+
+    public IdempotencyFilter(MeterRegistry meterRegistry,
+                             @Value("${idempotency.enabled:true}") boolean enabled,
+                             @Value("${idempotency.max-entries:10000}") int maxEntries,
+                             @Value("${idempotency.ttl:1h}") Duration ttl,
+                             @Value("${idempotency.max-wait:10s}") Duration maxWait) {
+        this.enabled = enabled;
+        this.store = new IdempotencyStore(maxEntries, ttl);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.executed = meterRegistry.counter(METRIC_NAME, "result", "executed");
+        this.replayed = meterRegistry.counter(METRIC_NAME, "result", "replayed");
+        this.mismatched = meterRegistry.counter(METRIC_NAME, "result", "mismatch");
+        this.conflicted = meterRegistry.counter(METRIC_NAME, "result", "conflict");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !CREATE_PATHS.contains(pathOf(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), IDEMPOTENCY_KEY_HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String fingerprint = DigestUtils.md5DigestAsHex(cachedRequest.getBody());
+        String scopedKey = callerScope(fingerprint) + ' ' + pathOf(request) + ' ' + idempotencyKey;
+
+        while (true) {
+            IdempotencyStore.Claim claim = store.claim(scopedKey, fingerprint);
+            IdempotencyStore.Execution execution = claim.getExecution();
+            if (!execution.getFingerprint().equals(fingerprint)) {
+                mismatched.increment();
+                response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), IDEMPOTENCY_KEY_HEADER + " was already used with a different request body");
+                return;
+            }
+            if (claim.isOwner()) {
+                execute(scopedKey, execution, cachedRequest, response, filterChain);
+                return;
+            }
+
+            StoredResponse storedResponse;
+            try {
+                storedResponse = execution.getResponse().get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException exception) {
+                conflicted.increment();
+                response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+                return;
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(exception);
+            } catch (ExecutionException exception) {
+                throw new ServletException(exception.getCause());
+            }
+
+            if (storedResponse != null) {
+                replayed.increment();
+                replay(storedResponse, response);
+                return;
+            }
+        }
+    }
+
+    private void execute(String scopedKey, IdempotencyStore.Execution execution, CachedBodyRequest request,
+                         HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        executed.increment();
+        var responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            // server errors are usually transient, a retry must be allowed to run again instead of replaying them
+            if (responseWrapper.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                store.complete(execution, new StoredResponse(responseWrapper.getStatus(), responseWrapper.getContentType(),
+                        replayedHeaders(responseWrapper), responseWrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.abandon(scopedKey, execution);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(StoredResponse storedResponse, HttpServletResponse response) throws IOException {
+        response.setStatus(storedResponse.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (storedResponse.getContentType() != null) {
+            response.setContentType(storedResponse.getContentType());
+        }
+        storedResponse.getHeaders().forEach((name, values) -> {
+            response.setHeader(name, values.get(0));
+            values.stream().skip(1).forEach(value -> response.addHeader(name, value));
+        });
+        response.setContentLength(storedResponse.getBody().length);
+        response.getOutputStream().write(storedResponse.getBody());
+    }
+
+    private static HttpHeaders replayedHeaders(HttpServletResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : response.getHeaderNames()) {
+            if (NOT_REPLAYED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.addAll(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    // keys are scoped by caller, anonymous clients share a single identity so their keys are also scoped by the body,
+    // a replay then only ever reaches a caller that sent that exact request and a reused key runs as a new request
+    private static String callerScope(String fingerprint) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return ANONYMOUS_SCOPE + ' ' + fingerprint;
+        }
+        return authentication.getName();
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    IdempotencyStore getStore() {
+        return store;
+    }
+}
@@ -0,0 +1,93 @@
+package com.rodrigopeleias.bookstoremanager.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+public class IdempotencyStore {
+
+    private final Map<String, Execution> executions = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final int maxEntries;
+
+    private final long ttlNanos;
+
+    private final LongSupplier clock;
+
+    public IdempotencyStore(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    IdempotencyStore(int maxEntries, Duration ttl, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+    }
+
+    public synchronized Claim claim(String key, String fingerprint) {
+        long now = clock.getAsLong();
+        Execution existing = executions.get(key);
+        if (existing != null && now - existing.startedAt < ttlNanos) {
+            return new Claim(existing, false);
+        }
+
+        Execution execution = new Execution(fingerprint, now);
+        executions.put(key, execution);
+        evictToCapacity();
+        return new Claim(execution, true);
+    }
+
+    public void complete(Execution execution, StoredResponse response) {
+        execution.response.complete(response);
+    }
+
+    // the first execution produced nothing worth replaying, so the next retry gets to run the request again
+    public void abandon(String key, Execution execution) {
+        synchronized (this) {
+            executions.remove(key, execution);
+        }
+        execution.response.complete(null);
+    }
+
+    public synchronized int size() {
+        return executions.size();
+    }
+
+    private void evictToCapacity() {
+        Iterator<Execution> eldest = executions.values().iterator();
+        while (executions.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Claim {
+
+        private final Execution execution;
+
+        private final boolean owner;
+    }
+
+    @Getter
+    public static class Execution {
+
+        private final String fingerprint;
+
+        private final long startedAt;
+
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        private Execution(String fingerprint, long startedAt) {
+            this.fingerprint = fingerprint;
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.rodrigopeleias.bookstoremanager.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+
+@Getter
+@AllArgsConstructor
+public class StoredResponse {
+
+    private final int status;
+
+    private final String contentType;
+
+    private final HttpHeaders headers;
+
+    private final byte[] body;
+}
@@ -0,0 +1,80 @@
+package com.rodrigopeleias.bookstoremanager.logging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+
+    public static final String FIELDS_ATTRIBUTE = AccessLogFilter.class.getName() + ".FIELDS";
+
+    private static final Log ACCESS_LOG = LogFactory.getLog("com.rodrigopeleias.bookstoremanager.access");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final String requestIdPrefix = Long.toHexString(ThreadLocalRandom.current().nextLong() & 0xffffffffL);
+
+    private final AtomicLong requestSequence = new AtomicLong();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        var requestId = requestIdPrefix + "-" + requestSequence.incrementAndGet();
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (ACCESS_LOG.isInfoEnabled()) {
+                ACCESS_LOG.info(toJson(request, response, requestId, System.nanoTime() - start));
+            }
+            MDC.remove(REQUEST_ID_MDC_KEY);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String toJson(HttpServletRequest request, HttpServletResponse response, String requestId, long elapsedNanos) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("timestamp", Instant.now().toString());
+        entry.put("request_id", requestId);
+        entry.put("method", request.getMethod());
+        entry.put("path", request.getRequestURI());
+        entry.put("status", response.getStatus());
+        entry.put("latency_ms", Math.round(elapsedNanos / NANOS_PER_MILLI * 1000) / 1000.0);
+        Object fields = request.getAttribute(FIELDS_ATTRIBUTE);
+        if (fields instanceof Map) {
+            entry.putAll((Map<String, Object>) fields);
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(entry);
+        } catch (JsonProcessingException exception) {
+            return entry.toString();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.rodrigopeleias.bookstoremanager.logging;
+
+public enum OverflowPolicy {
+    DROP,
+    BLOCK
+}
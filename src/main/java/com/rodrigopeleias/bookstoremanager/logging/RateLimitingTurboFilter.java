@@ -0,0 +1,132 @@
+package com.rodrigopeleias.bookstoremanager.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Marker;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RateLimitingTurboFilter extends TurboFilter {
+
+    private static final String FQCN = RateLimitingTurboFilter.class.getName();
+
+    private static final String SUMMARY = "Suppressed {} repetitions of \"{}\" in the last {} ms";
+
+    // access ordered, so a full map evicts the least recently logged template instead of resetting every window
+    private final Map<String, Window> windows = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+            return size() > cacheSize;
+        }
+    });
+
+    private final AtomicLong suppressedCount = new AtomicLong();
+
+    private final Counter suppressed = Metrics.counter("bookstore.logging.suppressed");
+
+    private Level level = Level.WARN;
+
+    private int allowedRepetitions = 5;
+
+    private long windowMillis = TimeUnit.MINUTES.toMillis(1);
+
+    private int cacheSize = 1024;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level eventLevel, String format, Object[] params, Throwable throwable) {
+        // errors are never dropped, only the noisier levels between the threshold and ERROR are
+        if (format == null || eventLevel == null || !eventLevel.isGreaterOrEqual(level) || eventLevel.isGreaterOrEqual(Level.ERROR)) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.computeIfAbsent(logger.getName() + ':' + format, key -> new Window());
+        int suppressedInLastWindow = window.roll(System.currentTimeMillis(), windowMillis);
+        if (suppressedInLastWindow > 0) {
+            logger.log(null, FQCN, Level.toLocationAwareLoggerInteger(eventLevel), SUMMARY,
+                    new Object[]{suppressedInLastWindow, format, windowMillis}, null);
+        }
+        if (window.tryAcquire(allowedRepetitions)) {
+            return FilterReply.NEUTRAL;
+        }
+        suppressedCount.incrementAndGet();
+        suppressed.increment();
+        return FilterReply.DENY;
+    }
+
+    @Override
+    public void stop() {
+        windows.clear();
+        super.stop();
+    }
+
+    public long getSuppressedCount() {
+        return suppressedCount.get();
+    }
+
+    public String getLevel() {
+        return level.toString();
+    }
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.WARN);
+    }
+
+    public int getAllowedRepetitions() {
+        return allowedRepetitions;
+    }
+
+    public void setAllowedRepetitions(int allowedRepetitions) {
+        this.allowedRepetitions = allowedRepetitions;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    public void setWindowMillis(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    private static class Window {
+
+        private final AtomicLong start = new AtomicLong();
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private final AtomicInteger suppressed = new AtomicInteger();
+
+        // starts a new window once the current one is over, returning how many repetitions the closed one suppressed
+        int roll(long now, long windowMillis) {
+            long windowStart = start.get();
+            if (now - windowStart >= windowMillis && start.compareAndSet(windowStart, now)) {
+                count.set(0);
+                return suppressed.getAndSet(0);
+            }
+            return 0;
+        }
+
+        boolean tryAcquire(int allowed) {
+            if (count.incrementAndGet() <= allowed) {
+                return true;
+            }
+            suppressed.incrementAndGet();
+            return false;
+        }
+    }
+}
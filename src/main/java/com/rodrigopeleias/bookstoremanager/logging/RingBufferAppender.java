@@ -0,0 +1,213 @@
+package com.rodrigopeleias.bookstoremanager.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private int capacity = DEFAULT_CAPACITY;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    private boolean includeCallerData;
+
+    private long maxFlushTimeMillis = 1000;
+
+    private MpmcRingBuffer<ILoggingEvent> ringBuffer;
+
+    private Thread drainThread;
+
+    private volatile boolean draining;
+
+    private volatile boolean drainParked;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to ring buffer appender [" + name + "]");
+            return;
+        }
+        ringBuffer = new MpmcRingBuffer<>(capacity);
+        draining = true;
+        drainThread = new Thread(this::drain, "logback-ring-buffer-" + name);
+        drainThread.setDaemon(true);
+        drainThread.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        draining = false;
+        LockSupport.unpark(drainThread);
+        try {
+            drainThread.join(maxFlushTimeMillis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        if (drainThread.isAlive()) {
+            addWarn("Ring buffer appender [" + name + "] stopped with " + ringBuffer.size() + " undelivered events");
+        }
+        reportDropped(0);
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+        if (ringBuffer.offer(event)) {
+            signalDrain();
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+        while (!ringBuffer.offer(event)) {
+            if (!isStarted()) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        signalDrain();
+    }
+
+    // only pays for an unpark when the drain thread is actually waiting on an empty buffer
+    private void signalDrain() {
+        if (drainParked) {
+            LockSupport.unpark(drainThread);
+        }
+    }
+
+    private void drain() {
+        long reportedDrops = 0;
+        while (draining) {
+            ILoggingEvent event = ringBuffer.poll();
+            if (event == null) {
+                reportedDrops = reportDropped(reportedDrops);
+                awaitEvents();
+            } else {
+                appenders.appendLoopOnAppenders(event);
+            }
+        }
+        ILoggingEvent event;
+        while ((event = ringBuffer.poll()) != null) {
+            appenders.appendLoopOnAppenders(event);
+        }
+    }
+
+    // the flag is raised before the emptiness re-check, so an offer landing in between
+    // either is seen here or sees the flag and leaves an unpark permit behind
+    private void awaitEvents() {
+        drainParked = true;
+        if (draining && ringBuffer.isEmpty()) {
+            LockSupport.park(this);
+        }
+        drainParked = false;
+    }
+
+    private long reportDropped(long alreadyReported) {
+        long dropped = droppedCount.get();
+        if (dropped > alreadyReported) {
+            addWarn("Ring buffer appender [" + name + "] dropped " + (dropped - alreadyReported) + " events, " + dropped + " in total");
+        }
+        return dropped;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public boolean isIncludeCallerData() {
+        return includeCallerData;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public long getMaxFlushTimeMillis() {
+        return maxFlushTimeMillis;
+    }
+
+    public void setMaxFlushTimeMillis(long maxFlushTimeMillis) {
+        this.maxFlushTimeMillis = maxFlushTimeMillis;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
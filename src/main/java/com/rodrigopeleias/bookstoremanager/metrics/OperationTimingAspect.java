@@ -0,0 +1,66 @@
+package com.rodrigopeleias.bookstoremanager.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+public class OperationTimingAspect {
+
+    public static final String OPERATION_TIMER = "bookstore.operation";
+
+    private static final String NO_EXCEPTION = "none";
+
+    // synthetic calls such as the start-up warm-up would otherwise skew the latency percentiles of real traffic
+    private static final ThreadLocal<Boolean> SUSPENDED = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public OperationTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.rodrigopeleias.bookstoremanager..*(..)) && @within(org.springframework.stereotype.Service)")
+    public Object timeServiceOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    @Around("execution(public * com.rodrigopeleias.bookstoremanager..*(..)) && @within(org.springframework.web.bind.annotation.RestController)")
+    public Object timeControllerOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "controller");
+    }
+
+    public static void suspendOnCurrentThread() {
+        SUSPENDED.set(Boolean.TRUE);
+    }
+
+    public static void resumeOnCurrentThread() {
+        SUSPENDED.remove();
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        if (Boolean.TRUE.equals(SUSPENDED.get())) {
+            return joinPoint.proceed();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NO_EXCEPTION;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            exception = throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            sample.stop(Timer.builder(OPERATION_TIMER)
+                    .description("Latency of bookstore controller and service operations")
+                    .tag("layer", layer)
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.rodrigopeleias.bookstoremanager.multiget;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MultiGetItemDTO<T> {
+
+    private Long id;
+
+    private boolean found;
+
+    private T item;
+
+    public static <T> MultiGetItemDTO<T> found(Long id, T item) {
+        return new MultiGetItemDTO<>(id, true, item);
+    }
+
+    public static <T> MultiGetItemDTO<T> notFound(Long id) {
+        return new MultiGetItemDTO<>(id, false, null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.rodrigopeleias.bookstoremanager.multiget;
+
+public class MultiGetLimitExceededException extends RuntimeException {
+    public MultiGetLimitExceededException(int requested, int limit) {
+        super("Requested " + requested + " ids but at most " + limit + " are allowed per request!");
+    }
+}
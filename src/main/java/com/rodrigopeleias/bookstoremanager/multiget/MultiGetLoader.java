@@ -0,0 +1,44 @@
+package com.rodrigopeleias.bookstoremanager.multiget;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public final class MultiGetLoader {
+
+    public static final int MAX_IDS = 1000;
+
+    static final int CHUNK_SIZE = 200;
+
+    private MultiGetLoader() {
+    }
+
+    public static <E, D> List<MultiGetItemDTO<D>> loadInRequestOrder(List<Long> ids,
+                                                                    Function<List<Long>, List<E>> finder,
+                                                                    Function<E, Long> idExtractor,
+                                                                    Function<E, D> mapper) {
+        if (ids.size() > MAX_IDS) {
+            throw new MultiGetLimitExceededException(ids.size(), MAX_IDS);
+        }
+
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.remove(null);
+        Map<Long, D> foundById = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + CHUNK_SIZE, distinctIds.size()));
+            for (E entity : finder.apply(chunk)) {
+                foundById.put(idExtractor.apply(entity), mapper.apply(entity));
+            }
+        }
+
+        List<MultiGetItemDTO<D>> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            D item = foundById.get(id);
+            results.add(item != null ? MultiGetItemDTO.found(id, item) : MultiGetItemDTO.notFound(id));
+        }
+        return results;
+    }
+}
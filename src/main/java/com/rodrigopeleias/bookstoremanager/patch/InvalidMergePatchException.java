@@ -0,0 +1,7 @@
+package com.rodrigopeleias.bookstoremanager.patch;
+
+public class InvalidMergePatchException extends RuntimeException {
+    public InvalidMergePatchException(String reason) {
+        super("Merge patch can not be applied, " + reason + "!");
+    }
+}
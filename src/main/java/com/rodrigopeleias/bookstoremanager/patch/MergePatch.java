@@ -0,0 +1,48 @@
+package com.rodrigopeleias.bookstoremanager.patch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.util.Set;
+
+// RFC 7396 JSON Merge Patch over the flat request DTOs: members present in the patch replace the
+// current values, an explicit null clears them and everything else is kept as it is.
+@Component
+public class MergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    public MergePatch(ObjectMapper objectMapper, Validator validator) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    public <T> T apply(T current, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidMergePatchException("a merge patch document must be a JSON object");
+        }
+
+        T patched;
+        try {
+            patched = objectMapper.readerForUpdating(current).readValue(patch);
+        } catch (IOException exception) {
+            throw new InvalidMergePatchException(exception.getMessage());
+        }
+
+        // the patched document has to be as valid as a full replacement would be
+        Set<ConstraintViolation<T>> violations = validator.validate(patched);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return patched;
+    }
+}
@@ -0,0 +1,50 @@
+package com.rodrigopeleias.bookstoremanager.precondition;
+
+import com.rodrigopeleias.bookstoremanager.compression.ContentEncoding;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+// the ETag of a single resource is its @Version, so If-Match can be checked inside the conditional UPDATE itself
+public final class EntityVersionTag {
+
+    private static final String ANY = "*";
+
+    private EntityVersionTag() {
+    }
+
+    // null when the request is unconditional, the write then applies to whatever version is stored
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        // a tag echoed from a compressed response names the same version as the identity one
+        String tag = ContentEncoding.identityETag(ifMatch.trim());
+        // weak tags never match with the strong comparison If-Match requires
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("expected a single strong ETag like \"3\" but got " + tag);
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException exception) {
+            throw new PreconditionFailedException("expected a single strong ETag like \"3\" but got " + tag);
+        }
+    }
+
+    public static void verifyIfMatch(String type, Long id, Long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException(type, id);
+        }
+    }
+
+    public static <T> ResponseEntity<T> withVersion(HttpStatus status, T body, Long version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (version != null) {
+            builder.eTag(version.toString());
+        }
+        return builder.body(body);
+    }
+
+    public static <T> ResponseEntity<T> withVersion(T body, Long version) {
+        return withVersion(HttpStatus.OK, body, version);
+    }
+}
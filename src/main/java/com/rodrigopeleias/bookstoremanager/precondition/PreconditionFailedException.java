@@ -0,0 +1,11 @@
+package com.rodrigopeleias.bookstoremanager.precondition;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String type, Long id) {
+        super(String.format("The %s with id %s was changed by another request, reload it and retry with its current ETag!", type, id));
+    }
+
+    public PreconditionFailedException(String reason) {
+        super("If-Match precondition can not be evaluated, " + reason + "!");
+    }
+}
@@ -0,0 +1,36 @@
+package com.rodrigopeleias.bookstoremanager.projection;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public final class FieldSelection {
+
+    public static final String ID_FIELD = "id";
+
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    public static FieldSelection parse(String fields, Set<String> allowedFields) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add(ID_FIELD);
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!allowedFields.contains(trimmed)) {
+                throw new InvalidFieldSelectionException(trimmed, allowedFields);
+            }
+            selected.add(trimmed);
+        }
+        return new FieldSelection(selected);
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+}
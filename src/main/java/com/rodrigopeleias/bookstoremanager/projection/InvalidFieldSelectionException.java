@@ -0,0 +1,10 @@
+package com.rodrigopeleias.bookstoremanager.projection;
+
+import java.util.Collection;
+import java.util.TreeSet;
+
+public class InvalidFieldSelectionException extends RuntimeException {
+    public InvalidFieldSelectionException(String field, Collection<String> allowedFields) {
+        super("Field " + field + " can not be selected, allowed fields are " + new TreeSet<>(allowedFields) + "!");
+    }
+}
@@ -0,0 +1,61 @@
+package com.rodrigopeleias.bookstoremanager.projection;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+@Transactional(readOnly = true)
+public class TupleProjection {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <E, D> List<D> findAll(Class<E> entityType, FieldSelection selection, Supplier<D> dtoFactory) {
+        return entityManager.createQuery(selectQuery(entityType, selection, null))
+                .getResultStream()
+                .map(tuple -> toDTO(tuple, selection, dtoFactory))
+                .collect(Collectors.toList());
+    }
+
+    public <E, D> Optional<D> findById(Class<E> entityType, Long id, FieldSelection selection, Supplier<D> dtoFactory) {
+        return entityManager.createQuery(selectQuery(entityType, selection, id))
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> toDTO(tuple, selection, dtoFactory));
+    }
+
+    private <E> CriteriaQuery<Tuple> selectQuery(Class<E> entityType, FieldSelection selection, Long id) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<E> root = query.from(entityType);
+        List<Selection<?>> columns = selection.getFields().stream()
+                .map(field -> root.get(field).alias(field))
+                .collect(Collectors.toList());
+        query.multiselect(columns);
+        if (id != null) {
+            query.where(criteriaBuilder.equal(root.get(FieldSelection.ID_FIELD), id));
+        }
+        return query;
+    }
+
+    private static <D> D toDTO(Tuple tuple, FieldSelection selection, Supplier<D> dtoFactory) {
+        D dto = dtoFactory.get();
+        BeanWrapper wrapper = new BeanWrapperImpl(dto);
+        selection.getFields().forEach(field -> wrapper.setPropertyValue(field, tuple.get(field)));
+        return dto;
+    }
+}
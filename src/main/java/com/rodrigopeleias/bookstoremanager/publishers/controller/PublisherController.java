@@ -1,9 +1,16 @@
 package com.rodrigopeleias.bookstoremanager.publishers.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.rodrigopeleias.bookstoremanager.publishers.dto.PublisherDTO;
 import com.rodrigopeleias.bookstoremanager.publishers.service.PublisherService;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaPageDTO;
+import com.rodrigopeleias.bookstoremanager.multiget.MultiGetItemDTO;
+import com.rodrigopeleias.bookstoremanager.patch.MergePatch;
+import com.rodrigopeleias.bookstoremanager.precondition.EntityVersionTag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
@@ -21,24 +28,42 @@ public class PublisherController implements PublisherControllerDocs {
     }
 
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public PublisherDTO create(@RequestBody @Valid PublisherDTO publisherDTO) {
-        return publisherService.create(publisherDTO);
+    public ResponseEntity<PublisherDTO> create(@RequestBody @Valid PublisherDTO publisherDTO) {
+        PublisherDTO createdPublisherDTO = publisherService.create(publisherDTO);
+        return EntityVersionTag.withVersion(HttpStatus.CREATED, createdPublisherDTO, createdPublisherDTO.getVersion());
     }
 
     @GetMapping("/{id}")
-    public PublisherDTO findById(@PathVariable Long id) {
-        return publisherService.findById(id);
+    public ResponseEntity<PublisherDTO> findById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        PublisherDTO foundPublisherDTO = fields == null ? publisherService.findById(id) : publisherService.findById(id, fields);
+        return EntityVersionTag.withVersion(foundPublisherDTO, foundPublisherDTO.getVersion());
+    }
+
+    @GetMapping("/changes")
+    public DeltaPageDTO<PublisherDTO> findChanges(@RequestParam(required = false) String since) {
+        return publisherService.findChanges(since);
+    }
+
+    @GetMapping(params = "ids")
+    public List<MultiGetItemDTO<PublisherDTO>> findAllById(@RequestParam List<Long> ids) {
+        return publisherService.findAllById(ids);
     }
 
     @GetMapping
-    public List<PublisherDTO> findAll() {
-        return publisherService.findAll();
+    public List<PublisherDTO> findAll(@RequestParam(required = false) String fields) {
+        return fields == null ? publisherService.findAll() : publisherService.findAll(fields);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MergePatch.MEDIA_TYPE)
+    public ResponseEntity<PublisherDTO> patch(@PathVariable Long id, @RequestBody JsonNode patch,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PublisherDTO patchedPublisherDTO = publisherService.patch(id, patch, EntityVersionTag.parseIfMatch(ifMatch));
+        return EntityVersionTag.withVersion(patchedPublisherDTO, patchedPublisherDTO.getVersion());
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable  Long id) {
-        publisherService.delete(id);
+    public void delete(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        publisherService.delete(id, EntityVersionTag.parseIfMatch(ifMatch));
     }
 }
@@ -1,11 +1,14 @@
 package com.rodrigopeleias.bookstoremanager.publishers.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.rodrigopeleias.bookstoremanager.publishers.dto.PublisherDTO;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaPageDTO;
+import com.rodrigopeleias.bookstoremanager.multiget.MultiGetItemDTO;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
-import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.http.ResponseEntity;
 
 import java.util.List;
 
@@ -17,26 +20,52 @@ public interface PublisherControllerDocs {
             @ApiResponse(code = 201, message = "Success publisher creation"),
             @ApiResponse(code = 400, message = "Missing required fields, wrong field range value or publisher already registered on system")
     })
-    PublisherDTO create(PublisherDTO publisherDTO);
+    ResponseEntity<PublisherDTO> create(PublisherDTO publisherDTO);
 
-    @ApiOperation(value = "Find publisher by id operation")
+    @ApiOperation(value = "Find publisher by id operation, optionally restricted to the comma separated fields")
     @ApiResponses(value = {
             @ApiResponse(code = 201, message = "Success publisher found"),
             @ApiResponse(code = 404, message = "Publisher not found error")
     })
-    PublisherDTO findById(Long id);
+    ResponseEntity<PublisherDTO> findById(Long id, String fields);
 
 
-    @ApiOperation(value = "List all registered publishers")
+    @ApiOperation(value = "Find publishers by a comma separated id list, in request order")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Return one entry per requested id, flagging the ones not found"),
+            @ApiResponse(code = 400, message = "Too many ids requested at once")
+    })
+    List<MultiGetItemDTO<PublisherDTO>> findAllById(List<Long> ids);
+
+    @ApiOperation(value = "Return publishers changed and deleted after the given watermark, in pages")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Changed publishers, deleted ids and the watermark to resume from"),
+            @ApiResponse(code = 400, message = "Invalid watermark"),
+            @ApiResponse(code = 410, message = "Watermark older than the retained deletions, a full resync is needed")
+    })
+    DeltaPageDTO<PublisherDTO> findChanges(String since);
+
+    @ApiOperation(value = "Partial publisher update with a JSON merge patch, only the informed fields are changed")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success publisher patched"),
+            @ApiResponse(code = 400, message = "Invalid patch document, patched fields failing validation or publisher already registered on system"),
+            @ApiResponse(code = 404, message = "Publisher with informed id not found in the system"),
+            @ApiResponse(code = 412, message = "If-Match ETag is not the current publisher version"),
+            @ApiResponse(code = 415, message = "Patch not sent as application/merge-patch+json")
+    })
+    ResponseEntity<PublisherDTO> patch(Long id, JsonNode patch, String ifMatch);
+
+    @ApiOperation(value = "List all registered publishers, optionally restricted to the comma separated fields")
     @ApiResponses(value = {
             @ApiResponse(code = 201, message = "Return all registered publishers")
     })
-    List<PublisherDTO> findAll();
+    List<PublisherDTO> findAll(String fields);
 
     @ApiOperation(value = "Delete publisher by id operation")
     @ApiResponses(value = {
             @ApiResponse(code = 204, message = "Success publisher deleted"),
-            @ApiResponse(code = 404, message = "Publisher not found error")
+            @ApiResponse(code = 404, message = "Publisher not found error"),
+            @ApiResponse(code = 412, message = "If-Match ETag is not the current publisher version")
     })
-    void delete(@PathVariable Long id);
+    void delete(Long id, String ifMatch);
 }
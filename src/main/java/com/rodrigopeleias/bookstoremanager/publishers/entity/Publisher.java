@@ -3,6 +3,9 @@ package com.rodrigopeleias.bookstoremanager.publishers.entity;
 import com.rodrigopeleias.bookstoremanager.books.entity.Book;
 import com.rodrigopeleias.bookstoremanager.entity.Auditable;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
 import java.time.LocalDate;
@@ -10,16 +13,28 @@ import java.util.List;
 
 @Data
 @Entity
+@DynamicUpdate
+@SQLDelete(sql = "update publisher set deleted = true, deleted_date = now(), version = version + 1 where id = ? and version = ?")
+@Where(clause = "deleted = false")
+@Table(indexes = @Index(name = "idx_publisher_last_modified", columnList = "lastModifiedDate, id"),
+        uniqueConstraints = {
+                @UniqueConstraint(name = Publisher.NAME_CONSTRAINT, columnNames = "name"),
+                @UniqueConstraint(name = Publisher.CODE_CONSTRAINT, columnNames = "code")
+        })
 public class Publisher extends Auditable {
 
+    public static final String NAME_CONSTRAINT = "uk_publisher_name";
+
+    public static final String CODE_CONSTRAINT = "uk_publisher_code";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String code;
 
     @Column(nullable = false, columnDefinition = "TIMESTAMP")
@@ -1,9 +1,9 @@
 package com.rodrigopeleias.bookstoremanager.publishers.exception;
 
-import javax.persistence.EntityExistsException;
+import com.rodrigopeleias.bookstoremanager.exception.DomainEntityExistsException;
 
-public class PublisherAlreadyExistsException extends EntityExistsException {
+public class PublisherAlreadyExistsException extends DomainEntityExistsException {
     public PublisherAlreadyExistsException(String name, String code) {
-        super(String.format("Publisher with name %s or code %s already exists!", name, code));
+        super("Publisher with name " + name + " or code " + code + " already exists!");
     }
 }
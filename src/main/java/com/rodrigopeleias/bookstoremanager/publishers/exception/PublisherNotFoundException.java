@@ -1,9 +1,9 @@
 package com.rodrigopeleias.bookstoremanager.publishers.exception;
 
-import javax.persistence.EntityNotFoundException;
+import com.rodrigopeleias.bookstoremanager.exception.DomainEntityNotFoundException;
 
-public class PublisherNotFoundException extends EntityNotFoundException {
+public class PublisherNotFoundException extends DomainEntityNotFoundException {
     public PublisherNotFoundException(Long id) {
-        super(String.format("Publisher with id %s not exists!", id));
+        super("Publisher with id " + id + " not exists!");
     }
 }
@@ -3,15 +3,33 @@ package com.rodrigopeleias.bookstoremanager.publishers.mappers;
 import com.rodrigopeleias.bookstoremanager.publishers.dto.PublisherDTO;
 import com.rodrigopeleias.bookstoremanager.publishers.entity.Publisher;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 import org.mapstruct.factory.Mappers;
 
 @Mapper
 public interface PublisherMapper {
 
-    PublisherMapper INSTANCE = Mappers.getMapper(PublisherMapper.class);;
+    PublisherMapper INSTANCE = Mappers.getMapper(PublisherMapper.class);
 
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "deletedDate", ignore = true)
+    @Mapping(target = "books", ignore = true)
     Publisher toModel(PublisherDTO publisherDTO);
 
     PublisherDTO toDTO(Publisher publisher);
 
+    PublisherDTO copy(PublisherDTO publisherDTO);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "deletedDate", ignore = true)
+    @Mapping(target = "books", ignore = true)
+    void updateModel(PublisherDTO publisherDTO, @MappingTarget Publisher publisher);
+
 }
@@ -2,11 +2,20 @@ package com.rodrigopeleias.bookstoremanager.publishers.repository;
 
 import com.rodrigopeleias.bookstoremanager.publishers.entity.Publisher;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface PublisherRepository extends JpaRepository<Publisher, Long>  {
 
     Optional<Publisher> findByNameOrCode(String name, String code);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Publisher p set p.deleted = true, p.deletedDate = :deletedDate, p.version = p.version + 1"
+            + " where p.id = :id and p.deleted = false and p.version = coalesce(:version, p.version)")
+    int softDeleteById(@Param("id") Long id, @Param("version") Long expectedVersion, @Param("deletedDate") LocalDateTime deletedDate);
+
 }
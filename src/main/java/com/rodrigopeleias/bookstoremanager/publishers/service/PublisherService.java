@@ -1,5 +1,18 @@
 package com.rodrigopeleias.bookstoremanager.publishers.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rodrigopeleias.bookstoremanager.cache.RefreshAheadCache;
+import com.rodrigopeleias.bookstoremanager.changes.ChangeEvent;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaPageDTO;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaQuery;
+import com.rodrigopeleias.bookstoremanager.entity.UniqueConstraints;
+import com.rodrigopeleias.bookstoremanager.multiget.MultiGetItemDTO;
+import com.rodrigopeleias.bookstoremanager.multiget.MultiGetLoader;
+import com.rodrigopeleias.bookstoremanager.patch.MergePatch;
+import com.rodrigopeleias.bookstoremanager.precondition.EntityVersionTag;
+import com.rodrigopeleias.bookstoremanager.precondition.PreconditionFailedException;
+import com.rodrigopeleias.bookstoremanager.projection.FieldSelection;
+import com.rodrigopeleias.bookstoremanager.projection.TupleProjection;
 import com.rodrigopeleias.bookstoremanager.publishers.dto.PublisherDTO;
 import com.rodrigopeleias.bookstoremanager.publishers.entity.Publisher;
 import com.rodrigopeleias.bookstoremanager.publishers.exception.PublisherAlreadyExistsException;
@@ -7,10 +20,18 @@ import com.rodrigopeleias.bookstoremanager.publishers.exception.PublisherNotFoun
 import com.rodrigopeleias.bookstoremanager.publishers.mappers.PublisherMapper;
 import com.rodrigopeleias.bookstoremanager.publishers.repository.PublisherRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,50 +39,161 @@ public class PublisherService {
 
     private final static PublisherMapper publisherMapper = PublisherMapper.INSTANCE;
 
+    private static final Set<String> SELECTABLE_FIELDS = Set.of("id", "name", "code", "foundationDate");
+
+    private static final String ALL_PUBLISHERS = "all";
+
+    private static final String CHANGE_TYPE = "publisher";
+
+    // invalidation only reaches the caches of this instance, a write on another one is seen here once the entry expires,
+    // so the versioned entries If-Match is checked against expire sooner to keep those false 412s short lived
+    private static final Duration FIND_BY_ID_CACHE_TTL = Duration.ofSeconds(30);
+
+    private static final Duration FIND_ALL_CACHE_TTL = Duration.ofMinutes(5);
+
+    private final RefreshAheadCache<Long, PublisherDTO> findByIdCache = new RefreshAheadCache<>("publisher.findById", FIND_BY_ID_CACHE_TTL);
+
+    private final RefreshAheadCache<String, List<PublisherDTO>> findAllCache = new RefreshAheadCache<>("publisher.findAll", FIND_ALL_CACHE_TTL);
+
     private PublisherRepository publisherRepository;
 
+    private TupleProjection tupleProjection;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private DeltaQuery deltaQuery;
+
+    private MergePatch mergePatch;
+
     @Autowired
-    public PublisherService(PublisherRepository publisherRepository) {
+    public PublisherService(PublisherRepository publisherRepository, TupleProjection tupleProjection, ApplicationEventPublisher eventPublisher,
+                            DeltaQuery deltaQuery, MergePatch mergePatch) {
         this.publisherRepository = publisherRepository;
+        this.tupleProjection = tupleProjection;
+        this.eventPublisher = eventPublisher;
+        this.deltaQuery = deltaQuery;
+        this.mergePatch = mergePatch;
     }
 
     public PublisherDTO create(PublisherDTO publisherDTO) {
-        verifyIfExists(publisherDTO.getName(), publisherDTO.getCode());
-
         Publisher publisherToCreate = publisherMapper.toModel(publisherDTO);
-        Publisher createdPublisher = publisherRepository.save(publisherToCreate);
+        // a null id keeps save a plain insert instead of a merge that selects the row first
+        publisherToCreate.setId(null);
+        Publisher createdPublisher = write(publisherToCreate, () -> publisherRepository.save(publisherToCreate));
+        invalidateCaches(createdPublisher.getId());
+        eventPublisher.publishEvent(ChangeEvent.created(CHANGE_TYPE, createdPublisher.getId(), createdPublisher.getLastModifiedDate()));
         return publisherMapper.toDTO(createdPublisher);
     }
 
     public PublisherDTO findById(Long id) {
+        // cached DTOs are mutable and shared, every caller gets a copy of its own
+        return publisherMapper.copy(findByIdCache.get(id, () -> loadById(id)));
+    }
+
+    private PublisherDTO loadById(Long id) {
         return publisherRepository.findById(id)
                 .map(publisherMapper::toDTO)
                 .orElseThrow(() -> new PublisherNotFoundException(id));
     }
 
+    public PublisherDTO findById(Long id, String fields) {
+        return tupleProjection.findById(Publisher.class, id, FieldSelection.parse(fields, SELECTABLE_FIELDS), PublisherDTO::new)
+                .orElseThrow(() -> new PublisherNotFoundException(id));
+    }
+
+    public List<PublisherDTO> findAll(String fields) {
+        return tupleProjection.findAll(Publisher.class, FieldSelection.parse(fields, SELECTABLE_FIELDS), PublisherDTO::new);
+    }
+
+    public DeltaPageDTO<PublisherDTO> findChanges(String since) {
+        return deltaQuery.changesSince(Publisher.class, CHANGE_TYPE, since, Publisher::getId, publisherMapper::toDTO, "");
+    }
+
+    public List<MultiGetItemDTO<PublisherDTO>> findAllById(List<Long> ids) {
+        return MultiGetLoader.loadInRequestOrder(ids, publisherRepository::findAllById, Publisher::getId, publisherMapper::toDTO);
+    }
+
     public List<PublisherDTO> findAll() {
+        return findAllCache.get(ALL_PUBLISHERS, this::loadAll)
+                .stream()
+                .map(publisherMapper::copy)
+                .collect(Collectors.toList());
+    }
+
+    private List<PublisherDTO> loadAll() {
         return publisherRepository.findAll()
                 .stream()
                 .map(publisherMapper::toDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
     }
 
-    public void delete(Long id) {
-        verifyIfExists(id);
-        publisherRepository.deleteById(id);
+    public int preload() {
+        List<PublisherDTO> publishers = loadAll();
+        findAllCache.put(ALL_PUBLISHERS, publishers, this::loadAll);
+        publishers.forEach(publisher -> findByIdCache.put(publisher.getId(), publisher, () -> loadById(publisher.getId())));
+        return publishers.size();
     }
 
-    private void verifyIfExists(String name, String code) {
-        Optional<Publisher> duplicatedPublisher = publisherRepository
-                .findByNameOrCode(name, code);
+    public void refreshCaches() {
+        findByIdCache.refreshHotEntries();
+        findAllCache.refreshHotEntries();
+    }
 
-        if (duplicatedPublisher.isPresent()) {
-            throw new PublisherAlreadyExistsException(name, code);
+    @Transactional
+    public PublisherDTO patch(Long id, JsonNode patch, Long expectedVersion) {
+        Publisher publisherToPatch = publisherRepository.findById(id)
+                .orElseThrow(() -> new PublisherNotFoundException(id));
+        EntityVersionTag.verifyIfMatch(CHANGE_TYPE, id, publisherToPatch.getVersion(), expectedVersion);
+        PublisherDTO currentPublisherDTO = publisherMapper.toDTO(publisherToPatch);
+        PublisherDTO patchedPublisherDTO = mergePatch.apply(publisherMapper.toDTO(publisherToPatch), patch);
+        if (patchedPublisherDTO.equals(currentPublisherDTO)) {
+            return currentPublisherDTO;
         }
+
+        // dynamic update, so the flush only writes the columns the patch changed
+        publisherMapper.updateModel(patchedPublisherDTO, publisherToPatch);
+        Publisher patchedPublisher = write(publisherToPatch, () -> publisherRepository.saveAndFlush(publisherToPatch));
+        invalidateCaches(id);
+        eventPublisher.publishEvent(ChangeEvent.updated(CHANGE_TYPE, id, patchedPublisher.getLastModifiedDate()));
+        return publisherMapper.toDTO(patchedPublisher);
     }
 
-    private void verifyIfExists(Long id) {
-        publisherRepository.findById(id)
-                .orElseThrow(() -> new PublisherNotFoundException(id));
+    @Transactional
+    public void delete(Long id, Long expectedVersion) {
+        if (publisherRepository.softDeleteById(id, expectedVersion, LocalDateTime.now()) == 0) {
+            if (expectedVersion != null && publisherRepository.existsById(id)) {
+                throw new PreconditionFailedException(CHANGE_TYPE, id);
+            }
+            throw new PublisherNotFoundException(id);
+        }
+        invalidateCaches(id);
+        eventPublisher.publishEvent(ChangeEvent.deleted(CHANGE_TYPE, id));
+    }
+
+    private void invalidateCaches(Long id) {
+        Runnable invalidation = () -> {
+            findByIdCache.invalidate(id);
+            findAllCache.invalidateAll();
+        };
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private Publisher write(Publisher publisherToWrite, Supplier<Publisher> statement) {
+        try {
+            return statement.get();
+        } catch (DataIntegrityViolationException exception) {
+            if (UniqueConstraints.isViolated(exception, Publisher.NAME_CONSTRAINT, Publisher.CODE_CONSTRAINT)) {
+                throw new PublisherAlreadyExistsException(publisherToWrite.getName(), publisherToWrite.getCode());
+            }
+            throw exception;
+        }
     }
 }
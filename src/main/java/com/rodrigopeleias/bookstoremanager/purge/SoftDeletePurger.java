@@ -0,0 +1,106 @@
+package com.rodrigopeleias.bookstoremanager.purge;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class SoftDeletePurger {
+
+    private static final Log LOG = LogFactory.getLog(SoftDeletePurger.class);
+
+    private static final String PURGED_COUNTER = "bookstore.purge.rows";
+
+    // books go first since they are the ones holding foreign keys to the other tables
+    private static final Map<String, String> REFERENCING_BOOK_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        REFERENCING_BOOK_COLUMNS.put("book", null);
+        REFERENCING_BOOK_COLUMNS.put("author", "author_id");
+        REFERENCING_BOOK_COLUMNS.put("publisher", "publisher_id");
+        REFERENCING_BOOK_COLUMNS.put("user", "user_id");
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int batchSize;
+
+    private final Duration batchPause;
+
+    private final Duration gracePeriod;
+
+    public SoftDeletePurger(NamedParameterJdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${purge.batch-size:500}") int batchSize,
+                            @Value("${purge.batch-pause:100ms}") Duration batchPause,
+                            @Value("${purge.grace-period:10m}") Duration gracePeriod) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.gracePeriod = gracePeriod;
+    }
+
+    @Scheduled(cron = "${purge.cron:0 0 4 * * *}")
+    public void purge() throws InterruptedException {
+        LocalDateTime deletedBefore = LocalDateTime.now().minus(gracePeriod);
+        for (Map.Entry<String, String> table : REFERENCING_BOOK_COLUMNS.entrySet()) {
+            long purged = purgeTable(table.getKey(), table.getValue(), deletedBefore);
+            if (purged > 0) {
+                LOG.info(String.format("Purged %d soft deleted %s rows", purged, table.getKey()));
+            }
+        }
+    }
+
+    private long purgeTable(String table, String bookColumn, LocalDateTime deletedBefore) throws InterruptedException {
+        String candidates = "select t.id from " + table + " t where t.deleted = true and t.deleted_date < :deletedBefore"
+                + " and t.id > :afterId"
+                + (bookColumn == null ? "" : " and not exists (select 1 from book b where b." + bookColumn + " = t.id)")
+                + " order by t.id limit :batchSize";
+        String delete = "delete from " + table + " where id in (:ids) and deleted = true";
+
+        long purged = 0;
+        long afterId = 0;
+        while (true) {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("deletedBefore", Timestamp.valueOf(deletedBefore))
+                    .addValue("afterId", afterId)
+                    .addValue("batchSize", batchSize);
+            // each batch is its own short transaction so request traffic never waits behind the whole purge
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> batch = jdbcTemplate.queryForList(candidates, parameters, Long.class);
+                if (!batch.isEmpty()) {
+                    jdbcTemplate.update(delete, new MapSqlParameterSource("ids", batch));
+                }
+                return batch;
+            });
+            if (ids == null || ids.isEmpty()) {
+                return purged;
+            }
+            purged += ids.size();
+            afterId = ids.get(ids.size() - 1);
+            meterRegistry.counter(PURGED_COUNTER, "table", table).increment(ids.size());
+            Thread.sleep(batchPause.toMillis());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.rodrigopeleias.bookstoremanager.seed;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+@Component
+@Profile("seed")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DatasetSeeder implements ApplicationRunner {
+
+    private static final Log LOG = LogFactory.getLog(DatasetSeeder.class);
+
+    private static final String AUTHOR_INSERT = "insert into author (id, created_date, last_modified_date, name, age) values (?, ?, ?, ?, ?)";
+
+    private static final String PUBLISHER_INSERT = "insert into publisher (id, created_date, last_modified_date, name, code, foundation_date) values (?, ?, ?, ?, ?, ?)";
+
+    private static final String USER_INSERT = "insert into user (id, created_date, last_modified_date, name, age, gender, email, username, password, birth_date, role) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String BOOK_INSERT = "insert into book (id, created_date, last_modified_date, name, isbn, pages, chapters, author_id, publisher_id, user_id) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final int authors;
+
+    private final int publishers;
+
+    private final int users;
+
+    private final int books;
+
+    private final int batchSize;
+
+    private final int threads;
+
+    private final long randomSeed;
+
+    private final String userPassword;
+
+    public DatasetSeeder(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         PasswordEncoder passwordEncoder,
+                         @Value("${seed.authors:10000}") int authors,
+                         @Value("${seed.publishers:1000}") int publishers,
+                         @Value("${seed.users:1000}") int users,
+                         @Value("${seed.books:100000}") int books,
+                         @Value("${seed.batch-size:1000}") int batchSize,
+                         @Value("${seed.threads:0}") int threads,
+                         @Value("${seed.random-seed:42}") long randomSeed,
+                         @Value("${seed.user-password:seed-password}") String userPassword) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.authors = authors;
+        this.publishers = publishers;
+        this.users = users;
+        this.books = books;
+        this.batchSize = batchSize;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.randomSeed = randomSeed;
+        this.userPassword = userPassword;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (books > 0 && (authors == 0 || publishers == 0 || users == 0)) {
+            throw new IllegalStateException("Seeding books requires at least one author, publisher and user");
+        }
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            String encodedPassword = passwordEncoder.encode(userPassword);
+
+            long firstAuthorId = reserveIds("author", authors);
+            long firstPublisherId = reserveIds("publisher", publishers);
+            long firstUserId = reserveIds("user", users);
+            long firstBookId = reserveIds("book", books);
+
+            List<Future<?>> parents = new ArrayList<>();
+            parents.addAll(submitChunks(executor, "author", AUTHOR_INSERT, firstAuthorId, authors,
+                    (generator, id) -> generator.author(id)));
+            parents.addAll(submitChunks(executor, "publisher", PUBLISHER_INSERT, firstPublisherId, publishers,
+                    (generator, id) -> generator.publisher(id)));
+            parents.addAll(submitChunks(executor, "user", USER_INSERT, firstUserId, users,
+                    (generator, id) -> generator.user(id, encodedPassword)));
+            awaitAll(parents);
+            logRate("author, publisher and user", (long) authors + publishers + users, start);
+
+            long parentsSeededAt = System.nanoTime();
+            awaitAll(submitChunks(executor, "book", BOOK_INSERT, firstBookId, books,
+                    (generator, id) -> generator.book(id,
+                            generator.pickId(firstAuthorId, authors),
+                            generator.pickId(firstPublisherId, publishers),
+                            generator.pickId(firstUserId, users))));
+            logRate("book", books, parentsSeededAt);
+
+            logRate("total", (long) authors + publishers + users + books, start);
+            if (users > 0) {
+                LOG.info(String.format("Seeded users log in as user%d to user%d with the password set in seed.user-password",
+                        firstUserId, firstUserId + users - 1));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private List<Future<?>> submitChunks(ExecutorService executor, String table, String sql, long firstId, int count,
+                                         BiFunction<SyntheticDataGenerator, Long, Object[]> rowFactory) {
+        List<Future<?>> chunks = new ArrayList<>();
+        int chunkCount = (count + batchSize - 1) / batchSize;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            long chunkFirstId = firstId + (long) chunk * batchSize;
+            int chunkSize = (int) Math.min(batchSize, count - (long) chunk * batchSize);
+            long chunkSeed = randomSeed * 31 + table.hashCode() * 17L + chunk;
+            chunks.add(executor.submit(() -> insertChunk(sql, chunkFirstId, chunkSize, new SyntheticDataGenerator(chunkSeed), rowFactory)));
+        }
+        return chunks;
+    }
+
+    private void insertChunk(String sql, long firstId, int size, SyntheticDataGenerator generator,
+                             BiFunction<SyntheticDataGenerator, Long, Object[]> rowFactory) {
+        List<Object[]> rows = new ArrayList<>(size);
+        for (long id = firstId; id < firstId + size; id++) {
+            rows.add(rowFactory.apply(generator, id));
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+    }
+
+    private void awaitAll(List<Future<?>> futures) throws InterruptedException, ExecutionException {
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private long reserveIds(String table, int count) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        long firstId = maxId == null ? 1 : maxId + 1;
+        jdbcTemplate.execute(String.format("alter table %s alter column id restart with %d", table, firstId + count));
+        return firstId;
+    }
+
+    private void logRate(String table, long rows, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        LOG.info(String.format(Locale.ROOT, "Seeded %d %s rows in %.2fs (%.0f rows/s)", rows, table, seconds, rows / seconds));
+    }
+}
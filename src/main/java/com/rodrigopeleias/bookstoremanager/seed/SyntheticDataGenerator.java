@@ -0,0 +1,117 @@
+package com.rodrigopeleias.bookstoremanager.seed;
+
+import com.rodrigopeleias.bookstoremanager.users.enums.Gender;
+import com.rodrigopeleias.bookstoremanager.users.enums.Role;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+public class SyntheticDataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "Ana", "Bruno", "Carla", "Daniel", "Elena", "Felipe", "Gabriela", "Hugo", "Isabel", "João",
+            "Karen", "Lucas", "Mariana", "Nicolas", "Olivia", "Pedro", "Rafaela", "Samuel", "Tatiana", "Vitor"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Almeida", "Barbosa", "Cardoso", "Dias", "Esteves", "Ferreira", "Gomes", "Horta", "Lima", "Martins",
+            "Nogueira", "Oliveira", "Pereira", "Queiroz", "Ribeiro", "Santos", "Teixeira", "Vieira", "Xavier", "Zanetti"
+    };
+
+    private static final String[] TITLE_WORDS = {
+            "Shadows", "River", "Empire", "Code", "Garden", "Silence", "Journey", "Winter", "Algorithm", "Harbor",
+            "Memory", "Storm", "Light", "Machine", "Island", "Promise", "Mountain", "Letters", "Secret", "Horizon"
+    };
+
+    private static final String[] PUBLISHER_WORDS = {
+            "Atlas", "Beacon", "Compass", "Delta", "Ember", "Falcon", "Granite", "Harvest", "Iris", "Juniper"
+    };
+
+    private static final LocalDateTime AUDIT_EPOCH = LocalDateTime.of(2018, 1, 1, 0, 0);
+
+    private static final int AUDIT_WINDOW_MINUTES = 5 * 365 * 24 * 60;
+
+    private final Random random;
+
+    public SyntheticDataGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public Object[] author(long id) {
+        Timestamp createdDate = createdDate();
+        return new Object[]{id, createdDate, lastModifiedDate(createdDate),
+                pick(FIRST_NAMES) + " " + pick(LAST_NAMES) + " " + id,
+                25 + random.nextInt(70)};
+    }
+
+    public Object[] publisher(long id) {
+        Timestamp createdDate = createdDate();
+        return new Object[]{id, createdDate, lastModifiedDate(createdDate),
+                pick(PUBLISHER_WORDS) + " " + pick(TITLE_WORDS) + " Press " + id,
+                "PUB" + id,
+                Date.valueOf(LocalDate.of(1900 + random.nextInt(120), 1 + random.nextInt(12), 1 + random.nextInt(28)))};
+    }
+
+    public Object[] user(long id, String encodedPassword) {
+        Timestamp createdDate = createdDate();
+        return new Object[]{id, createdDate, lastModifiedDate(createdDate),
+                pick(FIRST_NAMES) + " " + pick(LAST_NAMES),
+                18 + random.nextInt(70),
+                random.nextBoolean() ? Gender.MALE.name() : Gender.FEMALE.name(),
+                "user" + id + "@bookstore.seed",
+                "user" + id,
+                encodedPassword,
+                Date.valueOf(LocalDate.of(1940 + random.nextInt(65), 1 + random.nextInt(12), 1 + random.nextInt(28))),
+                random.nextInt(100) == 0 ? Role.ADMIN.name() : Role.USER.name()};
+    }
+
+    public Object[] book(long id, long authorId, long publisherId, long userId) {
+        Timestamp createdDate = createdDate();
+        return new Object[]{id, createdDate, lastModifiedDate(createdDate),
+                "The " + pick(TITLE_WORDS) + " of " + pick(TITLE_WORDS) + " " + id,
+                isbn13(),
+                50L + random.nextInt(950),
+                1L + random.nextInt(60),
+                authorId, publisherId, userId};
+    }
+
+    public long pickId(long firstId, long count) {
+        return firstId + (long) (random.nextDouble() * count);
+    }
+
+    private Timestamp createdDate() {
+        return Timestamp.valueOf(AUDIT_EPOCH.plusMinutes(random.nextInt(AUDIT_WINDOW_MINUTES)));
+    }
+
+    private Timestamp lastModifiedDate(Timestamp createdDate) {
+        return random.nextInt(4) == 0
+                ? Timestamp.valueOf(createdDate.toLocalDateTime().plusDays(1 + random.nextInt(365)))
+                : createdDate;
+    }
+
+    private String isbn13() {
+        int[] digits = new int[13];
+        digits[0] = 9;
+        digits[1] = 7;
+        digits[2] = 8;
+        int sum = 9 + 7 * 3 + 8;
+        for (int i = 3; i < 12; i++) {
+            digits[i] = random.nextInt(10);
+            sum += digits[i] * (i % 2 == 0 ? 1 : 3);
+        }
+        digits[12] = (10 - sum % 10) % 10;
+
+        StringBuilder isbn = new StringBuilder(13);
+        for (int digit : digits) {
+            isbn.append(digit);
+        }
+        return isbn.toString();
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
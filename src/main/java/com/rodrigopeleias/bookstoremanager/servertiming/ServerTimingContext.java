@@ -0,0 +1,88 @@
+package com.rodrigopeleias.bookstoremanager.servertiming;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Getter
+public class ServerTimingContext {
+
+    private static final ThreadLocal<ServerTimingContext> CURRENT = new ThreadLocal<>();
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final long startNanos = System.nanoTime();
+
+    private int sqlCount;
+
+    private long dbNanos;
+
+    private long jwtNanos;
+
+    private long serializationNanos;
+
+    public static ServerTimingContext start() {
+        ServerTimingContext context = new ServerTimingContext();
+        CURRENT.set(context);
+        return context;
+    }
+
+    public static ServerTimingContext current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void recordStatement(long elapsedNanos) {
+        ServerTimingContext context = CURRENT.get();
+        if (context != null) {
+            context.sqlCount++;
+            context.dbNanos += elapsedNanos;
+        }
+    }
+
+    public static void recordJwt(long elapsedNanos) {
+        ServerTimingContext context = CURRENT.get();
+        if (context != null) {
+            context.jwtNanos += elapsedNanos;
+        }
+    }
+
+    public static void recordSerialization(long elapsedNanos) {
+        ServerTimingContext context = CURRENT.get();
+        if (context != null) {
+            context.serializationNanos += elapsedNanos;
+        }
+    }
+
+    public long getTotalNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public String toHeaderValue() {
+        return String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d statements\", jwt;dur=%.3f, ser;dur=%.3f, total;dur=%.3f",
+                millis(dbNanos), sqlCount, millis(jwtNanos), millis(serializationNanos), millis(getTotalNanos()));
+    }
+
+    public Map<String, Object> toLogFields() {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("sql_count", sqlCount);
+        fields.put("db_ms", roundedMillis(dbNanos));
+        fields.put("jwt_ms", roundedMillis(jwtNanos));
+        fields.put("serialization_ms", roundedMillis(serializationNanos));
+        return fields;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    private static double roundedMillis(long nanos) {
+        return Math.round(millis(nanos) * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,45 @@
+package com.rodrigopeleias.bookstoremanager.servertiming;
+
+import com.rodrigopeleias.bookstoremanager.changes.ChangeStream;
+import com.rodrigopeleias.bookstoremanager.logging.AccessLogFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final boolean enabled;
+
+    public ServerTimingFilter(@Value("${server-timing.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || ChangeStream.isStreamRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        var timing = ServerTimingContext.start();
+        var responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            ServerTimingContext.clear();
+            responseWrapper.setHeader(SERVER_TIMING_HEADER, timing.toHeaderValue());
+            request.setAttribute(AccessLogFilter.FIELDS_ATTRIBUTE, timing.toLogFields());
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.rodrigopeleias.bookstoremanager.servertiming;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StatementTimingInvocationHandler implements InvocationHandler {
+
+    private final Object target;
+
+    private StatementTimingInvocationHandler(Object target) {
+        this.target = target;
+    }
+
+    // the lifecycle interfaces are kept, the container only sees this proxy and would otherwise never close the pools behind it
+    public static DataSource wrap(DataSource dataSource) {
+        List<Class<?>> interfaces = new ArrayList<>(List.of(DataSource.class));
+        if (dataSource instanceof DisposableBean) {
+            interfaces.add(DisposableBean.class);
+        }
+        if (dataSource instanceof AutoCloseable) {
+            interfaces.add(AutoCloseable.class);
+        }
+        return (DataSource) Proxy.newProxyInstance(StatementTimingInvocationHandler.class.getClassLoader(),
+                interfaces.toArray(new Class<?>[0]), new StatementTimingInvocationHandler(dataSource));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String methodName = method.getName();
+        if (target instanceof Statement && methodName.startsWith("execute")) {
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(method, args);
+            } finally {
+                ServerTimingContext.recordStatement(System.nanoTime() - start);
+            }
+        }
+
+        Object result = invokeTarget(method, args);
+        if (result instanceof CallableStatement) {
+            return proxy(result, CallableStatement.class);
+        }
+        if (result instanceof PreparedStatement) {
+            return proxy(result, PreparedStatement.class);
+        }
+        if (result instanceof Statement) {
+            return proxy(result, Statement.class);
+        }
+        if (result instanceof Connection) {
+            return proxy(result, Connection.class);
+        }
+        return result;
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException exception) {
+            throw exception.getTargetException();
+        }
+    }
+
+    private static <T> T proxy(Object target, Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new StatementTimingInvocationHandler(target)));
+    }
+}
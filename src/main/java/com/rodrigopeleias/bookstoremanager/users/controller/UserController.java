@@ -1,5 +1,8 @@
 package com.rodrigopeleias.bookstoremanager.users.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rodrigopeleias.bookstoremanager.patch.MergePatch;
+import com.rodrigopeleias.bookstoremanager.precondition.EntityVersionTag;
 import com.rodrigopeleias.bookstoremanager.users.dto.JwtRequest;
 import com.rodrigopeleias.bookstoremanager.users.dto.JwtResponse;
 import com.rodrigopeleias.bookstoremanager.users.dto.MessageDTO;
@@ -7,7 +10,9 @@ import com.rodrigopeleias.bookstoremanager.users.dto.UserDTO;
 import com.rodrigopeleias.bookstoremanager.users.service.AuthenticationService;
 import com.rodrigopeleias.bookstoremanager.users.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
@@ -27,20 +32,29 @@ public class UserController implements UserControllerDocs {
     }
 
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public MessageDTO create(@RequestBody @Valid UserDTO userToCreateDTO) {
-        return userService.create(userToCreateDTO);
+    public ResponseEntity<MessageDTO> create(@RequestBody @Valid UserDTO userToCreateDTO) {
+        MessageDTO createdMessageDTO = userService.create(userToCreateDTO);
+        return EntityVersionTag.withVersion(HttpStatus.CREATED, createdMessageDTO, createdMessageDTO.getVersion());
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id) {
-        userService.delete(id);
+    public void delete(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        userService.delete(id, EntityVersionTag.parseIfMatch(ifMatch));
     }
 
     @PutMapping("/{id}")
-    public MessageDTO update(@PathVariable Long id, @RequestBody @Valid UserDTO userToUpdateDTO) {
-        return userService.update(id, userToUpdateDTO);
+    public ResponseEntity<MessageDTO> update(@PathVariable Long id, @RequestBody @Valid UserDTO userToUpdateDTO,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        MessageDTO updatedMessageDTO = userService.update(id, userToUpdateDTO, EntityVersionTag.parseIfMatch(ifMatch));
+        return EntityVersionTag.withVersion(updatedMessageDTO, updatedMessageDTO.getVersion());
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MergePatch.MEDIA_TYPE)
+    public ResponseEntity<MessageDTO> patch(@PathVariable Long id, @RequestBody JsonNode patch,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        MessageDTO patchedMessageDTO = userService.patch(id, patch, EntityVersionTag.parseIfMatch(ifMatch));
+        return EntityVersionTag.withVersion(patchedMessageDTO, patchedMessageDTO.getVersion());
     }
 
     @PostMapping(value = "/authenticate")
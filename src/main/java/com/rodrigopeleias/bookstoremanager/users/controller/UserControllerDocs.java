@@ -1,5 +1,6 @@
 package com.rodrigopeleias.bookstoremanager.users.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.rodrigopeleias.bookstoremanager.users.dto.JwtRequest;
 import com.rodrigopeleias.bookstoremanager.users.dto.JwtResponse;
 import com.rodrigopeleias.bookstoremanager.users.dto.MessageDTO;
@@ -8,10 +9,7 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestBody;
-
-import javax.validation.Valid;
+import org.springframework.http.ResponseEntity;
 
 @Api("system users management")
 public interface UserControllerDocs {
@@ -21,21 +19,36 @@ public interface UserControllerDocs {
             @ApiResponse(code = 201, message = "Success user creation"),
             @ApiResponse(code = 400, message = "Missing required field, or an error on validation field rules")
     })
-    MessageDTO create(UserDTO userToCreateDTO);
+    ResponseEntity<MessageDTO> create(UserDTO userToCreateDTO);
 
     @ApiOperation(value = "User exclusion operation")
     @ApiResponses(value = {
             @ApiResponse(code = 204, message = "Success user exclusionn"),
-            @ApiResponse(code = 404, message = "User with informed id not found in the system")
+            @ApiResponse(code = 404, message = "User with informed id not found in the system"),
+            @ApiResponse(code = 412, message = "If-Match ETag is not the current user version")
     })
-    void delete(@PathVariable Long id);
+    void delete(Long id, String ifMatch);
 
     @ApiOperation(value = "User update operation")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Success user updated"),
-            @ApiResponse(code = 400, message = "Missing required field, or an error on validation field rules")
+            @ApiResponse(code = 400, message = "Missing required field, or an error on validation field rules"),
+            @ApiResponse(code = 404, message = "User with informed id not found in the system"),
+            @ApiResponse(code = 412, message = "If-Match ETag is not the current user version")
+    })
+    ResponseEntity<MessageDTO> update(Long id, UserDTO userToUpdateDTO, String ifMatch);
+
+    @ApiOperation(value = "Partial user update with a JSON merge patch, the password is only re-encoded when it is patched")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success user patched"),
+            @ApiResponse(code = 400, message = "Invalid patch document, patched fields failing validation or email/username already registered"),
+            @ApiResponse(code = 401, message = "Missing or invalid token, only admins may patch users"),
+            @ApiResponse(code = 403, message = "Caller is not an admin"),
+            @ApiResponse(code = 404, message = "User with informed id not found in the system"),
+            @ApiResponse(code = 412, message = "If-Match ETag is not the current user version"),
+            @ApiResponse(code = 415, message = "Patch not sent as application/merge-patch+json")
     })
-    MessageDTO update(@PathVariable Long id, @RequestBody @Valid UserDTO userToUpdateDTO);
+    ResponseEntity<MessageDTO> patch(Long id, JsonNode patch, String ifMatch);
 
     @ApiOperation(value = "User authentication operation")
     @ApiResponses(value = {
@@ -1,5 +1,6 @@
 package com.rodrigopeleias.bookstoremanager.users.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,6 +12,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class MessageDTO {
 
-    private String message;;
+    private String message;
+
+    @JsonIgnore
+    private Long version;
 
 }
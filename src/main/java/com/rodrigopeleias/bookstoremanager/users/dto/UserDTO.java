@@ -1,6 +1,7 @@
 package com.rodrigopeleias.bookstoremanager.users.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.rodrigopeleias.bookstoremanager.users.enums.Gender;
 import com.rodrigopeleias.bookstoremanager.users.enums.Role;
 import lombok.AllArgsConstructor;
@@ -53,4 +54,7 @@ public class UserDTO {
     @NotNull
     private Role role;
 
+    @JsonIgnore
+    private Long version;
+
 }
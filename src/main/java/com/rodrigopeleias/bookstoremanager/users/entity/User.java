@@ -5,6 +5,9 @@ import com.rodrigopeleias.bookstoremanager.entity.Auditable;
 import com.rodrigopeleias.bookstoremanager.users.enums.Gender;
 import com.rodrigopeleias.bookstoremanager.users.enums.Role;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
 import java.time.LocalDate;
@@ -12,8 +15,19 @@ import java.util.List;
 
 @Data
 @Entity
+@DynamicUpdate
+@SQLDelete(sql = "update user set deleted = true, deleted_date = now(), version = version + 1 where id = ? and version = ?")
+@Where(clause = "deleted = false")
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"),
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username")
+})
 public class User extends Auditable  {
 
+    public static final String EMAIL_CONSTRAINT = "uk_user_email";
+
+    public static final String USERNAME_CONSTRAINT = "uk_user_username";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -28,10 +42,10 @@ public class User extends Auditable  {
     @Column(nullable = false, length = 20)
     private Gender gender;
 
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String email;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String username;
 
     @Column(nullable = false)
@@ -1,9 +1,9 @@
 package com.rodrigopeleias.bookstoremanager.users.exception;
 
-import javax.persistence.EntityExistsException;
+import com.rodrigopeleias.bookstoremanager.exception.DomainEntityExistsException;
 
-public class UserAlreadyExistsException extends EntityExistsException {
+public class UserAlreadyExistsException extends DomainEntityExistsException {
     public UserAlreadyExistsException(String email, String username) {
-        super(String.format("User with email %s or username %s already exists!", email, username));
+        super("User with email " + email + " or username " + username + " already exists!");
     }
 }
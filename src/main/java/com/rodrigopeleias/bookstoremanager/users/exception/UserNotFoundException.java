@@ -1,9 +1,9 @@
 package com.rodrigopeleias.bookstoremanager.users.exception;
 
-import javax.persistence.EntityNotFoundException;
+import com.rodrigopeleias.bookstoremanager.exception.DomainEntityNotFoundException;
 
-public class UserNotFoundException extends EntityNotFoundException {
+public class UserNotFoundException extends DomainEntityNotFoundException {
     public UserNotFoundException(Long id) {
-        super(String.format("User with id %s not exists!", id));
+        super("User with id " + id + " not exists!");
     }
 }
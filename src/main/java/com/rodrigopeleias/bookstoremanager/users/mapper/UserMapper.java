@@ -3,6 +3,8 @@ package com.rodrigopeleias.bookstoremanager.users.mapper;
 import com.rodrigopeleias.bookstoremanager.users.dto.UserDTO;
 import com.rodrigopeleias.bookstoremanager.users.entity.User;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 import org.mapstruct.factory.Mappers;
 
 @Mapper
@@ -10,8 +12,22 @@ public interface UserMapper {
 
     UserMapper INSTANCE = Mappers.getMapper(UserMapper.class);
 
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "deletedDate", ignore = true)
+    @Mapping(target = "books", ignore = true)
     User toModel(UserDTO userDTO);
 
     UserDTO toDTO(User user);
 
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "deletedDate", ignore = true)
+    @Mapping(target = "books", ignore = true)
+    void updateModel(UserDTO userDTO, @MappingTarget User user);
+
 }
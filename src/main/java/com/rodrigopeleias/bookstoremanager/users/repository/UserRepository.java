@@ -2,7 +2,11 @@ package com.rodrigopeleias.bookstoremanager.users.repository;
 
 import com.rodrigopeleias.bookstoremanager.users.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -11,4 +15,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
 
+    // one statement, no load and merge; createdDate and the soft delete columns are left untouched.
+    // user.version carries the If-Match version, a null one updates whatever version is stored
+    @Modifying
+    @Query("update User u set u.name = :#{#user.name}, u.age = :#{#user.age}, u.gender = :#{#user.gender},"
+            + " u.email = :#{#user.email}, u.username = :#{#user.username}, u.password = :#{#user.password},"
+            + " u.birthDate = :#{#user.birthDate}, u.role = :#{#user.role}, u.lastModifiedDate = :#{#user.lastModifiedDate},"
+            + " u.version = u.version + 1"
+            + " where u.id = :#{#user.id} and u.deleted = false and u.version = coalesce(:#{#user.version}, u.version)")
+    int update(@Param("user") User user);
+
+    @Modifying
+    @Query("update User u set u.deleted = true, u.deletedDate = :deletedDate, u.version = u.version + 1"
+            + " where u.id = :id and u.deleted = false and u.version = coalesce(:version, u.version)")
+    int softDeleteById(@Param("id") Long id, @Param("version") Long expectedVersion, @Param("deletedDate") LocalDateTime deletedDate);
+
 }
@@ -1,5 +1,10 @@
 package com.rodrigopeleias.bookstoremanager.users.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rodrigopeleias.bookstoremanager.entity.UniqueConstraints;
+import com.rodrigopeleias.bookstoremanager.patch.MergePatch;
+import com.rodrigopeleias.bookstoremanager.precondition.EntityVersionTag;
+import com.rodrigopeleias.bookstoremanager.precondition.PreconditionFailedException;
 import com.rodrigopeleias.bookstoremanager.users.dto.MessageDTO;
 import com.rodrigopeleias.bookstoremanager.users.dto.UserDTO;
 import com.rodrigopeleias.bookstoremanager.users.entity.User;
@@ -9,62 +14,110 @@ import com.rodrigopeleias.bookstoremanager.users.mapper.UserMapper;
 import com.rodrigopeleias.bookstoremanager.users.repository.UserRepository;
 import com.rodrigopeleias.bookstoremanager.users.utils.MessageDTOUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
 
 @Service
 public class UserService {
 
     private final static UserMapper userMapper = UserMapper.INSTANCE;
 
+    private static final String USER_TYPE = "user";
+
     private UserRepository userRepository;
 
     private PasswordEncoder passwordEncoder;
 
+    private MergePatch mergePatch;
+
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, MergePatch mergePatch) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.mergePatch = mergePatch;
     }
 
     public MessageDTO create(UserDTO userToCreateDTO) {
-        verifyIfExists(userToCreateDTO.getEmail(), userToCreateDTO.getUsername());
         User userToCreate = userMapper.toModel(userToCreateDTO);
+        // a null id keeps save a plain insert instead of a merge that selects the row first
+        userToCreate.setId(null);
         userToCreate.setPassword(passwordEncoder.encode(userToCreate.getPassword()));
 
-        User createdUser = userRepository.save(userToCreate);
+        User createdUser = write(userToCreate, () -> userRepository.save(userToCreate));
 
         return MessageDTOUtils.creationMessage(createdUser);
     }
 
-    public MessageDTO update(Long id, UserDTO userToUpdateDTO) {
-        User foundUser = verifyAndGetIfExists(id);
-
-        userToUpdateDTO.setId(foundUser.getId());
+    @Transactional
+    public MessageDTO update(Long id, UserDTO userToUpdateDTO, Long expectedVersion) {
+        userToUpdateDTO.setId(id);
         User userToUpdate = userMapper.toModel(userToUpdateDTO);
         userToUpdate.setPassword(passwordEncoder.encode(userToUpdate.getPassword()));
-        userToUpdate.setCreatedDate(foundUser.getCreatedDate());
+        userToUpdate.setLastModifiedDate(LocalDateTime.now());
+        userToUpdate.setVersion(expectedVersion);
 
-        User updatedUser = userRepository.save(userToUpdate);
-        return MessageDTOUtils.updatedMessage(updatedUser);
+        int updated = write(userToUpdate, () -> userRepository.update(userToUpdate));
+        if (updated == 0) {
+            throw notUpdated(id, expectedVersion);
+        }
+        // without If-Match the update never read the row, so the new version is unknown
+        userToUpdate.setVersion(expectedVersion == null ? null : expectedVersion + 1);
+        return MessageDTOUtils.updatedMessage(userToUpdate);
     }
 
-    public void delete(Long id) {
-        verifyAndGetIfExists(id);
-        userRepository.deleteById(id);
+    @Transactional
+    public MessageDTO patch(Long id, JsonNode patch, Long expectedVersion) {
+        User userToPatch = verifyAndGetIfExists(id);
+        EntityVersionTag.verifyIfMatch(USER_TYPE, id, userToPatch.getVersion(), expectedVersion);
+        UserDTO currentUserDTO = userMapper.toDTO(userToPatch);
+        UserDTO patchedUserDTO = mergePatch.apply(userMapper.toDTO(userToPatch), patch);
+        if (patchedUserDTO.equals(currentUserDTO)) {
+            return MessageDTOUtils.updatedMessage(userToPatch);
+        }
+
+        // the dto carries the stored hash, so only a patched password differs from it and needs bcrypt
+        if (!patchedUserDTO.getPassword().equals(currentUserDTO.getPassword())) {
+            patchedUserDTO.setPassword(passwordEncoder.encode(patchedUserDTO.getPassword()));
+        }
+        // dynamic update, so the flush only writes the columns the patch changed
+        userMapper.updateModel(patchedUserDTO, userToPatch);
+        User patchedUser = write(userToPatch, () -> userRepository.saveAndFlush(userToPatch));
+        return MessageDTOUtils.updatedMessage(patchedUser);
+    }
+
+    @Transactional
+    public void delete(Long id, Long expectedVersion) {
+        if (userRepository.softDeleteById(id, expectedVersion, LocalDateTime.now()) == 0) {
+            throw notUpdated(id, expectedVersion);
+        }
+    }
+
+    // the conditional update can not tell a missing row from a stale version, only the failure path pays for asking
+    private RuntimeException notUpdated(Long id, Long expectedVersion) {
+        if (expectedVersion != null && userRepository.existsById(id)) {
+            return new PreconditionFailedException(USER_TYPE, id);
+        }
+        return new UserNotFoundException(id);
     }
 
     private User verifyAndGetIfExists(Long id) {
         return userRepository.findById(id)
-                        .orElseThrow(() -> new UserNotFoundException(id));
+                .orElseThrow(() -> new UserNotFoundException(id));
     }
 
-    private void verifyIfExists(String email, String username) {
-        Optional<User> foundUser = userRepository.findByEmailOrUsername(email, username);
-        if (foundUser.isPresent()) {
-            throw new UserAlreadyExistsException(email, username);
+    private <T> T write(User user, Supplier<T> statement) {
+        try {
+            return statement.get();
+        } catch (DataIntegrityViolationException exception) {
+            if (UniqueConstraints.isViolated(exception, User.EMAIL_CONSTRAINT, User.USERNAME_CONSTRAINT)) {
+                throw new UserAlreadyExistsException(user.getEmail(), user.getUsername());
+            }
+            throw exception;
         }
     }
 
@@ -20,6 +20,7 @@ public class MessageDTOUtils {
         return MessageDTO.builder()
                 .message(
                         createdUserMessage)
+                .version(updatedUser.getVersion())
                 .build();
     }
 
@@ -0,0 +1,27 @@
+package com.rodrigopeleias.bookstoremanager.warmup;
+
+import com.rodrigopeleias.bookstoremanager.author.service.AuthorService;
+import com.rodrigopeleias.bookstoremanager.publishers.service.PublisherService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReferenceDataRefresher {
+
+    private final AuthorService authorService;
+
+    private final PublisherService publisherService;
+
+    @Autowired
+    public ReferenceDataRefresher(AuthorService authorService, PublisherService publisherService) {
+        this.authorService = authorService;
+        this.publisherService = publisherService;
+    }
+
+    @Scheduled(initialDelayString = "${warmup.refresh-interval-millis:30000}", fixedDelayString = "${warmup.refresh-interval-millis:30000}")
+    public void refreshHotEntries() {
+        authorService.refreshCaches();
+        publisherService.refreshCaches();
+    }
+}
@@ -0,0 +1,126 @@
+package com.rodrigopeleias.bookstoremanager.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rodrigopeleias.bookstoremanager.author.controller.AuthorController;
+import com.rodrigopeleias.bookstoremanager.author.dto.AuthorDTO;
+import com.rodrigopeleias.bookstoremanager.author.service.AuthorService;
+import com.rodrigopeleias.bookstoremanager.metrics.OperationTimingAspect;
+import com.rodrigopeleias.bookstoremanager.publishers.controller.PublisherController;
+import com.rodrigopeleias.bookstoremanager.publishers.dto.PublisherDTO;
+import com.rodrigopeleias.bookstoremanager.publishers.service.PublisherService;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+// Runs after every other runner (the seed profile included) and before Boot reports the application as ready,
+// so the readiness probe stays OUT_OF_SERVICE until the caches are loaded and the hot paths are compiled.
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "warmup.enabled", matchIfMissing = true)
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Log LOG = LogFactory.getLog(WarmUpRunner.class);
+
+    private static final int SAMPLE_IDS = 20;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AuthorService authorService;
+
+    private final PublisherService publisherService;
+
+    private final AuthorController authorController;
+
+    private final PublisherController publisherController;
+
+    private final ObjectMapper objectMapper;
+
+    private final int iterations;
+
+    private final Duration timeout;
+
+    public WarmUpRunner(ApplicationEventPublisher eventPublisher,
+                        AuthorService authorService,
+                        PublisherService publisherService,
+                        AuthorController authorController,
+                        PublisherController publisherController,
+                        ObjectMapper objectMapper,
+                        @Value("${warmup.iterations:200}") int iterations,
+                        @Value("${warmup.timeout:30s}") Duration timeout) {
+        this.eventPublisher = eventPublisher;
+        this.authorService = authorService;
+        this.publisherService = publisherService;
+        this.authorController = authorController;
+        this.publisherController = publisherController;
+        this.objectMapper = objectMapper;
+        this.iterations = iterations;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        long start = System.nanoTime();
+        OperationTimingAspect.suspendOnCurrentThread();
+        try {
+            int authors = authorService.preload();
+            int publishers = publisherService.preload();
+            logElapsed(String.format("Preloaded %d authors and %d publishers", authors, publishers), start);
+
+            long exerciseStart = System.nanoTime();
+            int completed = exerciseEndpoints(exerciseStart + timeout.toNanos());
+            logElapsed(String.format("Exercised author and publisher reads %d times", completed), exerciseStart);
+        } catch (RuntimeException | JsonProcessingException exception) {
+            // a failed warm-up only costs latency, it must not keep the instance out of the load balancer
+            LOG.warn("Warm-up did not complete, accepting traffic with cold caches", exception);
+        } finally {
+            OperationTimingAspect.resumeOnCurrentThread();
+        }
+    }
+
+    private int exerciseEndpoints(long deadlineNanos) throws JsonProcessingException {
+        List<Long> authorIds = sampleIds(authorController.findAll(null).stream().map(AuthorDTO::getId).collect(Collectors.toList()));
+        List<Long> publisherIds = sampleIds(publisherController.findAll(null).stream().map(PublisherDTO::getId).collect(Collectors.toList()));
+
+        int iteration = 0;
+        while (iteration < iterations && System.nanoTime() < deadlineNanos) {
+            objectMapper.writeValueAsBytes(authorController.findAll(null));
+            objectMapper.writeValueAsBytes(publisherController.findAll(null));
+            if (!authorIds.isEmpty()) {
+                Long authorId = authorIds.get(iteration % authorIds.size());
+                objectMapper.writeValueAsBytes(authorController.findById(authorId, null).getBody());
+                objectMapper.writeValueAsBytes(authorController.findAllById(authorIds));
+            }
+            if (!publisherIds.isEmpty()) {
+                Long publisherId = publisherIds.get(iteration % publisherIds.size());
+                objectMapper.writeValueAsBytes(publisherController.findById(publisherId, null).getBody());
+                objectMapper.writeValueAsBytes(publisherController.findAllById(publisherIds));
+            }
+            iteration++;
+        }
+        return iteration;
+    }
+
+    private static List<Long> sampleIds(List<Long> ids) {
+        return ids.subList(0, Math.min(SAMPLE_IDS, ids.size()));
+    }
+
+    private static void logElapsed(String message, long startNanos) {
+        LOG.info(String.format(Locale.ROOT, "%s in %.2fs", message, (System.nanoTime() - startNanos) / 1_000_000_000.0));
+    }
+}
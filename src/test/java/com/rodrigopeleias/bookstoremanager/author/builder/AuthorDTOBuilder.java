@@ -15,8 +15,10 @@ public class AuthorDTOBuilder {
     @Builder.Default
     private final Integer age = 32;
 
+    private final Long version;
+
     public AuthorDTO buildAuthorDTO() {
-        return new AuthorDTO(id, name, age);
+        return new AuthorDTO(id, name, age, version);
     }
 
 }
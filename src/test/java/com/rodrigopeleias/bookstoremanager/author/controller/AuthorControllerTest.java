@@ -3,7 +3,10 @@ package com.rodrigopeleias.bookstoremanager.author.controller;
 import com.rodrigopeleias.bookstoremanager.author.builder.AuthorDTOBuilder;
 import com.rodrigopeleias.bookstoremanager.author.dto.AuthorDTO;
 import com.rodrigopeleias.bookstoremanager.author.service.AuthorService;
+import com.rodrigopeleias.bookstoremanager.multiget.MultiGetItemDTO;
 import com.rodrigopeleias.bookstoremanager.utils.JsonConversionUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.Is;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,12 +17,15 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
+import java.util.Arrays;
 import java.util.Collections;
 
 @ExtendWith(MockitoExtension.class)
@@ -87,6 +93,60 @@ public class AuthorControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.age", Is.is(expectedFoundAuthorDTO.getAge())));
     }
 
+    @Test
+    void whenGETWithSmileAcceptIsCalledThenSmileBodyShouldBeReturned() throws Exception {
+        AuthorDTO expectedFoundAuthorDTO = authorDTOBuilder.buildAuthorDTO();
+        MediaType smileMediaType = MediaType.valueOf("application/x-jackson-smile");
+        ObjectMapper smileObjectMapper = Jackson2ObjectMapperBuilder.smile().build();
+
+        Mockito.when(authorService.findById(expectedFoundAuthorDTO.getId()))
+                .thenReturn(expectedFoundAuthorDTO);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(AUTHOR_API_URL_PATH + "/" + expectedFoundAuthorDTO.getId())
+                        .accept(smileMediaType))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(smileMediaType))
+                .andReturn();
+
+        AuthorDTO foundAuthorDTO = smileObjectMapper.readValue(result.getResponse().getContentAsByteArray(), AuthorDTO.class);
+        MatcherAssert.assertThat(foundAuthorDTO, Is.is(expectedFoundAuthorDTO));
+    }
+
+    @Test
+    void whenGETListWithFieldsIsCalledThenOnlySelectedFieldsShouldBeReturned() throws Exception {
+        AuthorDTO expectedProjectedAuthorDTO = new AuthorDTO();
+        expectedProjectedAuthorDTO.setId(1L);
+        expectedProjectedAuthorDTO.setName("Projected");
+
+        Mockito.when(authorService.findAll("name"))
+                .thenReturn(Collections.singletonList(expectedProjectedAuthorDTO));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(AUTHOR_API_URL_PATH)
+                        .param("fields", "name")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", Is.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name", Is.is("Projected")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].age").doesNotExist());
+    }
+
+    @Test
+    void whenGETWithIdListIsCalledThenStatusOkAndResultsInRequestOrderShouldBeReturned() throws Exception {
+        AuthorDTO expectedFoundAuthorDTO = authorDTOBuilder.buildAuthorDTO();
+
+        Mockito.when(authorService.findAllById(Arrays.asList(2L, expectedFoundAuthorDTO.getId())))
+                .thenReturn(Arrays.asList(MultiGetItemDTO.notFound(2L), MultiGetItemDTO.found(expectedFoundAuthorDTO.getId(), expectedFoundAuthorDTO)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(AUTHOR_API_URL_PATH)
+                        .param("ids", "2," + expectedFoundAuthorDTO.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", Is.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].found", Is.is(false)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].found", Is.is(true)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].item.name", Is.is(expectedFoundAuthorDTO.getName())));
+    }
+
     @Test
     void whenGETListIsCalledThenStatusOkShouldBeReturned() throws Exception {
         AuthorDTO expectedFoundAuthorDTO = authorDTOBuilder.buildAuthorDTO();
@@ -107,7 +167,7 @@ public class AuthorControllerTest {
         AuthorDTO expectedAuthorDeletedDTO = authorDTOBuilder.buildAuthorDTO();
 
         Long expectedAuthorDeletedId = expectedAuthorDeletedDTO.getId();
-        Mockito.doNothing().when(authorService).delete(expectedAuthorDeletedId);
+        Mockito.doNothing().when(authorService).delete(expectedAuthorDeletedId, null);
 
         mockMvc.perform(MockMvcRequestBuilders.delete(AUTHOR_API_URL_PATH + "/" + expectedAuthorDeletedId)
                 .contentType(MediaType.APPLICATION_JSON))
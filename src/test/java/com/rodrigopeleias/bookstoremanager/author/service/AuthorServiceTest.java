@@ -7,21 +7,37 @@ import com.rodrigopeleias.bookstoremanager.author.exception.AuthorAlreadyExistsE
 import com.rodrigopeleias.bookstoremanager.author.exception.AuthorNotFoundException;
 import com.rodrigopeleias.bookstoremanager.author.mapper.AuthorMapper;
 import com.rodrigopeleias.bookstoremanager.author.repository.AuthorRepository;
+import com.rodrigopeleias.bookstoremanager.changes.ChangeEvent;
+import com.rodrigopeleias.bookstoremanager.changes.ChangeOperation;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaQuery;
+import com.rodrigopeleias.bookstoremanager.multiget.MultiGetItemDTO;
+import com.rodrigopeleias.bookstoremanager.precondition.PreconditionFailedException;
+import com.rodrigopeleias.bookstoremanager.projection.FieldSelection;
+import com.rodrigopeleias.bookstoremanager.projection.InvalidFieldSelectionException;
+import com.rodrigopeleias.bookstoremanager.projection.TupleProjection;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.Is;
 import org.hamcrest.core.IsEqual;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import org.springframework.dao.DataIntegrityViolationException;
 
 @ExtendWith(MockitoExtension.class)
 public class AuthorServiceTest {
@@ -31,6 +47,15 @@ public class AuthorServiceTest {
     @Mock
     private AuthorRepository authorRepository;
 
+    @Mock
+    private TupleProjection tupleProjection;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DeltaQuery deltaQuery;
+
     @InjectMocks
     private AuthorService authorService;
 
@@ -48,8 +73,7 @@ public class AuthorServiceTest {
         Author expectedCreatedAuthor = authorMapper.toModel(expectedAuthorToCreateDTO);
 
         //when
-        Mockito.when(authorRepository.save(expectedCreatedAuthor)).thenReturn(expectedCreatedAuthor);
-        Mockito.when(authorRepository.findByName(expectedAuthorToCreateDTO.getName())).thenReturn(Optional.empty());
+        Mockito.when(authorRepository.save(Mockito.any(Author.class))).thenReturn(expectedCreatedAuthor);
 
         AuthorDTO createdAuthorDTO = authorService.create(expectedAuthorToCreateDTO);
 
@@ -60,9 +84,9 @@ public class AuthorServiceTest {
     @Test
     void whenExistingAuthorIsInformedThenAnExceptionShouldBeThrown() {
         AuthorDTO expectedAuthorToCreateDTO = authorDTOBuilder.buildAuthorDTO();
-        Author expectedCreatedAuthor = authorMapper.toModel(expectedAuthorToCreateDTO);
 
-        Mockito.when(authorRepository.findByName(expectedAuthorToCreateDTO.getName())).thenReturn(Optional.of(expectedCreatedAuthor));
+        Mockito.when(authorRepository.save(Mockito.any(Author.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicated", new ConstraintViolationException("duplicated", null, Author.NAME_CONSTRAINT)));
 
         Assertions.assertThrows(AuthorAlreadyExistsException.class, ()-> authorService.create(expectedAuthorToCreateDTO));
     }
@@ -88,6 +112,44 @@ public class AuthorServiceTest {
         Assertions.assertThrows(AuthorNotFoundException.class, ()-> authorService.findById(expectedFoundAuthorDTO.getId()));
     }
 
+    @Test
+    void whenFieldsAreSelectedThenOnlyThoseFieldsShouldBeProjected() {
+        AuthorDTO expectedProjectedAuthorDTO = new AuthorDTO();
+        expectedProjectedAuthorDTO.setId(1L);
+        expectedProjectedAuthorDTO.setName("Projected");
+
+        Mockito.when(tupleProjection.findById(ArgumentMatchers.eq(Author.class), ArgumentMatchers.eq(1L),
+                        ArgumentMatchers.argThat((FieldSelection selection) -> selection.getFields().equals(Set.of("id", "name"))),
+                        ArgumentMatchers.any()))
+                .thenReturn(Optional.of(expectedProjectedAuthorDTO));
+
+        AuthorDTO foundAuthorDTO = authorService.findById(1L, "name");
+
+        MatcherAssert.assertThat(foundAuthorDTO, Is.is(expectedProjectedAuthorDTO));
+    }
+
+    @Test
+    void whenUnknownFieldIsSelectedThenAnExceptionShouldBeThrown() {
+        Assertions.assertThrows(InvalidFieldSelectionException.class, () -> authorService.findAll("name,books"));
+    }
+
+    @Test
+    void whenIdListIsGivenThenAuthorsShouldBeReturnedInRequestOrderWithNotFoundMarkers() {
+        AuthorDTO expectedFoundAuthorDTO = authorDTOBuilder.buildAuthorDTO();
+        Author expectedFoundAuthor = authorMapper.toModel(expectedFoundAuthorDTO);
+        List<Long> requestedIds = Arrays.asList(2L, expectedFoundAuthorDTO.getId(), 2L);
+
+        Mockito.when(authorRepository.findAllById(Arrays.asList(2L, expectedFoundAuthorDTO.getId())))
+                .thenReturn(Collections.singletonList(expectedFoundAuthor));
+
+        List<MultiGetItemDTO<AuthorDTO>> foundAuthorsDTO = authorService.findAllById(requestedIds);
+
+        MatcherAssert.assertThat(foundAuthorsDTO, Is.is(Arrays.asList(
+                MultiGetItemDTO.notFound(2L),
+                MultiGetItemDTO.found(expectedFoundAuthorDTO.getId(), expectedFoundAuthorDTO),
+                MultiGetItemDTO.notFound(2L))));
+    }
+
     @Test
     void whenListAuthorIsCalledThenItShouldBeReturned() {
         AuthorDTO expectedFoundAuthorDTO = authorDTOBuilder.buildAuthorDTO();
@@ -111,26 +173,98 @@ public class AuthorServiceTest {
     }
 
     @Test
-    void whenValidAuthorIdIsGivenThenItShouldBeDeleted() {
+    void whenListAuthorsIsCalledTwiceThenTheCachedListShouldBeReturned() {
+        AuthorDTO expectedFoundAuthorDTO = authorDTOBuilder.buildAuthorDTO();
+        Author expectedFoundAuthor = authorMapper.toModel(expectedFoundAuthorDTO);
+
+        Mockito.when(authorRepository.findAll()).thenReturn(Collections.singletonList(expectedFoundAuthor));
+
+        authorService.findAll();
+        List<AuthorDTO> foundAuthorsDTO = authorService.findAll();
+
+        MatcherAssert.assertThat(foundAuthorsDTO.get(0), Is.is(IsEqual.equalTo(expectedFoundAuthorDTO)));
+        Mockito.verify(authorRepository, Mockito.times(1)).findAll();
+    }
+
+    @Test
+    void whenACachedAuthorIsChangedByACallerThenTheNextCallerShouldNotSeeIt() {
+        AuthorDTO expectedFoundAuthorDTO = authorDTOBuilder.buildAuthorDTO();
+        Author expectedFoundAuthor = authorMapper.toModel(expectedFoundAuthorDTO);
+
+        Mockito.when(authorRepository.findAll()).thenReturn(Collections.singletonList(expectedFoundAuthor));
+
+        authorService.findAll().get(0).setName("Changed by a caller");
+        List<AuthorDTO> foundAuthorsDTO = authorService.findAll();
+
+        MatcherAssert.assertThat(foundAuthorsDTO.get(0), Is.is(IsEqual.equalTo(expectedFoundAuthorDTO)));
+        Mockito.verify(authorRepository, Mockito.times(1)).findAll();
+    }
+
+    @Test
+    void whenAuthorIsCreatedThenTheCachedListShouldBeReloaded() {
+        AuthorDTO expectedAuthorToCreateDTO = authorDTOBuilder.buildAuthorDTO();
+        Author expectedCreatedAuthor = authorMapper.toModel(expectedAuthorToCreateDTO);
+
+        Mockito.when(authorRepository.findAll())
+                .thenReturn(Collections.emptyList())
+                .thenReturn(Collections.singletonList(expectedCreatedAuthor));
+        Mockito.when(authorRepository.save(Mockito.any(Author.class))).thenReturn(expectedCreatedAuthor);
+
+        authorService.findAll();
+        authorService.create(expectedAuthorToCreateDTO);
+        List<AuthorDTO> foundAuthorsDTO = authorService.findAll();
+
+        MatcherAssert.assertThat(foundAuthorsDTO.size(), Is.is(1));
+    }
+
+    @Test
+    void whenValidAuthorIdIsGivenThenItShouldBeSoftDeletedWithASingleUpdate() {
         AuthorDTO expectedDeletedAuthorDTO = authorDTOBuilder.buildAuthorDTO();
-        Author expectedDeletedAuthor = authorMapper.toModel(expectedDeletedAuthorDTO);
 
         Long expectedDeletedAuthorId = expectedDeletedAuthorDTO.getId();
-        Mockito.doNothing().when(authorRepository).deleteById(expectedDeletedAuthorId);
-        Mockito.when(authorRepository.findById(expectedDeletedAuthorId)).thenReturn(Optional.of(expectedDeletedAuthor));
+        Mockito.when(authorRepository.softDeleteById(Mockito.eq(expectedDeletedAuthorId), Mockito.isNull(), Mockito.any(LocalDateTime.class))).thenReturn(1);
 
-        authorService.delete(expectedDeletedAuthorId);
+        authorService.delete(expectedDeletedAuthorId, null);
 
-        Mockito.verify(authorRepository, Mockito.times(1)).deleteById(expectedDeletedAuthorId);
-        Mockito.verify(authorRepository, Mockito.times(1)).findById(expectedDeletedAuthorId);
+        Mockito.verify(authorRepository, Mockito.times(1)).softDeleteById(Mockito.eq(expectedDeletedAuthorId), Mockito.isNull(), Mockito.any(LocalDateTime.class));
+        Mockito.verify(authorRepository, Mockito.never()).findById(expectedDeletedAuthorId);
+        Mockito.verify(authorRepository, Mockito.never()).deleteById(expectedDeletedAuthorId);
+    }
+
+    @Test
+    void whenAuthorIsDeletedThenADeletedChangeShouldBePublished() {
+        AuthorDTO expectedDeletedAuthorDTO = authorDTOBuilder.buildAuthorDTO();
+        Long expectedDeletedAuthorId = expectedDeletedAuthorDTO.getId();
+
+        Mockito.when(authorRepository.softDeleteById(Mockito.eq(expectedDeletedAuthorId), Mockito.isNull(), Mockito.any(LocalDateTime.class))).thenReturn(1);
+
+        authorService.delete(expectedDeletedAuthorId, null);
+
+        ArgumentCaptor<ChangeEvent> publishedChange = ArgumentCaptor.forClass(ChangeEvent.class);
+        Mockito.verify(eventPublisher).publishEvent(publishedChange.capture());
+        MatcherAssert.assertThat(publishedChange.getValue().getId(), Is.is(expectedDeletedAuthorId));
+        MatcherAssert.assertThat(publishedChange.getValue().getOperation(), Is.is(ChangeOperation.DELETED));
     }
 
     @Test
     void whenInvalidAuthorIdIsGivenThenAnExceptionShouldBeThrown() {
         var expectedInvalidAuthorId = 2L;
 
-        Mockito.when(authorRepository.findById(expectedInvalidAuthorId)).thenReturn(Optional.empty());
+        Mockito.when(authorRepository.softDeleteById(Mockito.eq(expectedInvalidAuthorId), Mockito.isNull(), Mockito.any(LocalDateTime.class))).thenReturn(0);
+
+        Assertions.assertThrows(AuthorNotFoundException.class, ()-> authorService.delete(expectedInvalidAuthorId, null));
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void whenStaleVersionIsGivenOnDeleteThenPreconditionFailedShouldBeThrown() {
+        var expectedAuthorId = 1L;
+        var staleVersion = 3L;
+
+        Mockito.when(authorRepository.softDeleteById(Mockito.eq(expectedAuthorId), Mockito.eq(staleVersion), Mockito.any(LocalDateTime.class))).thenReturn(0);
+        Mockito.when(authorRepository.existsById(expectedAuthorId)).thenReturn(true);
 
-        Assertions.assertThrows(AuthorNotFoundException.class, ()-> authorService.delete(expectedInvalidAuthorId));
+        Assertions.assertThrows(PreconditionFailedException.class, () -> authorService.delete(expectedAuthorId, staleVersion));
+        Mockito.verifyNoInteractions(eventPublisher);
     }
 }
@@ -0,0 +1,153 @@
+package com.rodrigopeleias.bookstoremanager.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rodrigopeleias.bookstoremanager.author.service.AuthorService;
+import com.rodrigopeleias.bookstoremanager.books.service.BookService;
+import com.rodrigopeleias.bookstoremanager.config.PasswordEncondingConfig;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaQuery;
+import com.rodrigopeleias.bookstoremanager.delta.TombstoneRecorder;
+import com.rodrigopeleias.bookstoremanager.patch.MergePatch;
+import com.rodrigopeleias.bookstoremanager.projection.TupleProjection;
+import com.rodrigopeleias.bookstoremanager.publishers.service.PublisherService;
+import com.rodrigopeleias.bookstoremanager.users.builder.UserDTOBuilder;
+import com.rodrigopeleias.bookstoremanager.users.dto.UserDTO;
+import com.rodrigopeleias.bookstoremanager.users.service.UserService;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@DataJpaTest(showSql = false)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({BatchService.class, AuthorService.class, PublisherService.class, BookService.class, UserService.class,
+        TupleProjection.class, DeltaQuery.class, TombstoneRecorder.class, MergePatch.class, PasswordEncondingConfig.class})
+public class BatchServiceTest {
+
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UserDTO owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = UserDTOBuilder.builder().build().buildUserDTO();
+        userService.create(owner);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("delete from tombstone");
+        jdbcTemplate.execute("delete from book");
+        jdbcTemplate.execute("delete from author");
+        jdbcTemplate.execute("delete from publisher");
+        jdbcTemplate.execute("delete from user");
+    }
+
+    @Test
+    void whenOperationsReferenceEarlierCreatesThenTheyShouldAllBeCommitted() throws Exception {
+        List<BatchOperationDTO> operations = operations("["
+                + "{\"action\": \"create\", \"resource\": \"authors\", \"ref\": \"author\", \"body\": {\"name\": \"Paulo Coelho\", \"age\": 70}},"
+                + "{\"action\": \"create\", \"resource\": \"publishers\", \"ref\": \"publisher\", \"body\": {\"name\": \"Rocco\", \"code\": \"ROC1234\", \"foundationDate\": \"01/06/2020\"}},"
+                + "{\"action\": \"create\", \"resource\": \"books\", \"ref\": \"book\", \"body\": {\"name\": \"O Alquimista\", \"isbn\": \"978-3-16-148410-0\", \"pages\": 200, \"chapters\": 20, \"authorId\": \"$author\", \"publisherId\": \"$publisher\"}},"
+                + "{\"action\": \"update\", \"resource\": \"authors\", \"id\": \"$author\", \"ifMatch\": \"\\\"0\\\"\", \"body\": {\"age\": 71}}"
+                + "]");
+
+        BatchResponseDTO batchResponseDTO = batchService.execute(operations, owner.getUsername());
+
+        MatcherAssert.assertThat(batchResponseDTO.isCommitted(), Is.is(true));
+        List<BatchResultDTO> results = batchResponseDTO.getResults();
+        MatcherAssert.assertThat(results.get(2).getStatus(), Is.is(HttpStatus.CREATED.value()));
+        MatcherAssert.assertThat(results.get(3).getVersion(), Is.is(1L));
+        Long bookAuthorId = jdbcTemplate.queryForObject("select author_id from book where id = ?", Long.class, results.get(2).getId());
+        MatcherAssert.assertThat(bookAuthorId, Is.is(results.get(0).getId()));
+        Integer authorAge = jdbcTemplate.queryForObject("select age from author where id = ?", Integer.class, results.get(0).getId());
+        MatcherAssert.assertThat(authorAge, Is.is(71));
+    }
+
+    @Test
+    void whenAnOperationFailsThenTheWholeBatchShouldBeRolledBack() throws Exception {
+        List<BatchOperationDTO> operations = operations("["
+                + "{\"action\": \"create\", \"resource\": \"authors\", \"ref\": \"author\", \"body\": {\"name\": \"Paulo Coelho\", \"age\": 70}},"
+                + "{\"action\": \"update\", \"resource\": \"authors\", \"id\": \"$author\", \"ifMatch\": \"\\\"5\\\"\", \"body\": {\"age\": 71}},"
+                + "{\"action\": \"delete\", \"resource\": \"authors\", \"id\": \"$author\"}"
+                + "]");
+
+        BatchResponseDTO batchResponseDTO = batchService.execute(operations, owner.getUsername());
+
+        MatcherAssert.assertThat(batchResponseDTO.isCommitted(), Is.is(false));
+        MatcherAssert.assertThat(batchResponseDTO.getResults().size(), Is.is(2));
+        MatcherAssert.assertThat(batchResponseDTO.getResults().get(1).getStatus(), Is.is(HttpStatus.PRECONDITION_FAILED.value()));
+        MatcherAssert.assertThat(jdbcTemplate.queryForObject("select count(*) from author", Integer.class), Is.is(0));
+    }
+
+    @Test
+    void whenAReferenceWasNotCreatedEarlierThenTheBatchShouldBeRejected() throws Exception {
+        List<BatchOperationDTO> operations = operations("["
+                + "{\"action\": \"delete\", \"resource\": \"books\", \"id\": \"$book\"},"
+                + "{\"action\": \"create\", \"resource\": \"authors\", \"ref\": \"book\", \"body\": {\"name\": \"Paulo Coelho\", \"age\": 70}}"
+                + "]");
+
+        BatchResponseDTO batchResponseDTO = batchService.execute(operations, owner.getUsername());
+
+        MatcherAssert.assertThat(batchResponseDTO.isCommitted(), Is.is(false));
+        MatcherAssert.assertThat(batchResponseDTO.getResults().get(0).getStatus(), Is.is(HttpStatus.BAD_REQUEST.value()));
+    }
+
+    @Test
+    void whenADeletedAuthorIsReferencedLaterInTheBatchThenItShouldNotBeFound() throws Exception {
+        List<BatchOperationDTO> operations = operations("["
+                + "{\"action\": \"create\", \"resource\": \"authors\", \"ref\": \"author\", \"body\": {\"name\": \"Paulo Coelho\", \"age\": 70}},"
+                + "{\"action\": \"create\", \"resource\": \"publishers\", \"ref\": \"publisher\", \"body\": {\"name\": \"Rocco\", \"code\": \"ROC1234\", \"foundationDate\": \"01/06/2020\"}},"
+                + "{\"action\": \"delete\", \"resource\": \"authors\", \"id\": \"$author\"},"
+                + "{\"action\": \"create\", \"resource\": \"books\", \"body\": {\"name\": \"O Alquimista\", \"isbn\": \"978-3-16-148410-0\", \"pages\": 200, \"chapters\": 20, \"authorId\": \"$author\", \"publisherId\": \"$publisher\"}}"
+                + "]");
+
+        BatchResponseDTO batchResponseDTO = batchService.execute(operations, owner.getUsername());
+
+        MatcherAssert.assertThat(batchResponseDTO.isCommitted(), Is.is(false));
+        MatcherAssert.assertThat(batchResponseDTO.getResults().get(3).getStatus(), Is.is(HttpStatus.NOT_FOUND.value()));
+    }
+
+    @Test
+    void whenABookDeletedEarlierInTheBatchIsUpdatedThenItShouldNotBeFound() throws Exception {
+        List<BatchOperationDTO> operations = operations("["
+                + "{\"action\": \"create\", \"resource\": \"authors\", \"ref\": \"author\", \"body\": {\"name\": \"Paulo Coelho\", \"age\": 70}},"
+                + "{\"action\": \"create\", \"resource\": \"publishers\", \"ref\": \"publisher\", \"body\": {\"name\": \"Rocco\", \"code\": \"ROC1234\", \"foundationDate\": \"01/06/2020\"}},"
+                + "{\"action\": \"create\", \"resource\": \"books\", \"ref\": \"book\", \"body\": {\"name\": \"O Alquimista\", \"isbn\": \"978-3-16-148410-0\", \"pages\": 200, \"chapters\": 20, \"authorId\": \"$author\", \"publisherId\": \"$publisher\"}},"
+                + "{\"action\": \"delete\", \"resource\": \"books\", \"id\": \"$book\"},"
+                + "{\"action\": \"update\", \"resource\": \"books\", \"id\": \"$book\", \"body\": {\"pages\": 210}}"
+                + "]");
+
+        BatchResponseDTO batchResponseDTO = batchService.execute(operations, owner.getUsername());
+
+        MatcherAssert.assertThat(batchResponseDTO.isCommitted(), Is.is(false));
+        MatcherAssert.assertThat(batchResponseDTO.getResults().get(4).getStatus(), Is.is(HttpStatus.NOT_FOUND.value()));
+    }
+
+    private List<BatchOperationDTO> operations(String json) throws Exception {
+        return List.of(objectMapper.readValue(json, BatchOperationDTO[].class));
+    }
+}
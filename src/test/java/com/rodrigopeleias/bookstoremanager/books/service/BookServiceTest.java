@@ -0,0 +1,96 @@
+package com.rodrigopeleias.bookstoremanager.books.service;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.rodrigopeleias.bookstoremanager.author.repository.AuthorRepository;
+import com.rodrigopeleias.bookstoremanager.books.dto.BookRequestDTO;
+import com.rodrigopeleias.bookstoremanager.books.dto.BookResponseDTO;
+import com.rodrigopeleias.bookstoremanager.books.entity.Book;
+import com.rodrigopeleias.bookstoremanager.books.repository.BookRepository;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaQuery;
+import com.rodrigopeleias.bookstoremanager.patch.MergePatch;
+import com.rodrigopeleias.bookstoremanager.publishers.repository.PublisherRepository;
+import com.rodrigopeleias.bookstoremanager.users.entity.User;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+public class BookServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private PublisherRepository publisherRepository;
+
+    @Mock
+    private DeltaQuery deltaQuery;
+
+    @Mock
+    private MergePatch mergePatch;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BookService bookService;
+
+    private Book book;
+
+    private ObjectNode patch;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setUsername("owner");
+        book = new Book();
+        book.setId(1L);
+        book.setName("O Alquimista");
+        book.setIsbn("978-3-16-148410-0");
+        book.setPages(200);
+        book.setChapters(20);
+        book.setUser(owner);
+        book.setVersion(0L);
+        patch = JsonNodeFactory.instance.objectNode().put("pages", 210);
+    }
+
+    @Test
+    void whenABookIsPatchedByAUserNotOwningItThenAccessShouldBeDenied() {
+        Mockito.when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+
+        Assertions.assertThrows(AccessDeniedException.class, () -> bookService.patchOwnBook(1L, patch, null, "intruder"));
+        Mockito.verify(bookRepository, Mockito.never()).saveAndFlush(ArgumentMatchers.any());
+    }
+
+    @Test
+    void whenABookIsPatchedByItsOwnerThenItShouldBeSaved() {
+        Mockito.when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        Mockito.when(mergePatch.apply(ArgumentMatchers.any(BookRequestDTO.class), ArgumentMatchers.eq(patch)))
+                .thenAnswer(invocation -> {
+                    BookRequestDTO patchedBookDTO = invocation.getArgument(0);
+                    patchedBookDTO.setPages(210L);
+                    return patchedBookDTO;
+                });
+        Mockito.when(bookRepository.saveAndFlush(book)).thenReturn(book);
+
+        BookResponseDTO patchedBookDTO = bookService.patchOwnBook(1L, patch, null, "owner");
+
+        MatcherAssert.assertThat(patchedBookDTO.getPages(), Is.is(210L));
+    }
+}
@@ -0,0 +1,84 @@
+package com.rodrigopeleias.bookstoremanager.bulkhead;
+
+import com.rodrigopeleias.bookstoremanager.concurrency.RouteGroup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.hamcrest.core.IsNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class BulkheadFilterTest {
+
+    private static final String BOOKS_API_URL_PATH = "/api/v1/books";
+
+    private static final String PUBLISHERS_API_URL_PATH = "/api/v1/publishers";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BulkheadFilter bulkheadFilter;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("bulkhead.admin-writes.max-concurrent", "1")
+                .withProperty("bulkhead.admin-writes.max-wait", "10ms");
+        environment.setConversionService(new ApplicationConversionService());
+        meterRegistry = new SimpleMeterRegistry();
+        bulkheadFilter = new BulkheadFilter(meterRegistry, environment, true);
+    }
+
+    @Test
+    void whenRequestRunsInsideABulkheadThenItsRouteGroupShouldBeCurrent() throws Exception {
+        AtomicReference<RouteGroup> currentGroup = new AtomicReference<>();
+
+        perform(new MockHttpServletRequest("GET", BOOKS_API_URL_PATH), () -> currentGroup.set(BulkheadContext.current()));
+
+        MatcherAssert.assertThat(currentGroup.get(), Is.is(RouteGroup.BOOK_READS));
+        MatcherAssert.assertThat(BulkheadContext.current(), IsNull.nullValue());
+        MatcherAssert.assertThat(bulkheadFilter.bulkheadFor(RouteGroup.BOOK_READS).getActive(), Is.is(0));
+    }
+
+    @Test
+    void whenAdminWritesAreSaturatedThenBookReadsShouldStillBeAdmitted() throws Exception {
+        MockHttpServletResponse rejectedWrite = new MockHttpServletResponse();
+        MockHttpServletResponse admittedRead = new MockHttpServletResponse();
+
+        perform(new MockHttpServletRequest("POST", PUBLISHERS_API_URL_PATH), () -> {
+            bulkheadFilter.doFilter(new MockHttpServletRequest("DELETE", PUBLISHERS_API_URL_PATH + "/1"), rejectedWrite, new MockFilterChain());
+            bulkheadFilter.doFilter(new MockHttpServletRequest("GET", BOOKS_API_URL_PATH), admittedRead, new MockFilterChain());
+        });
+
+        MatcherAssert.assertThat(rejectedWrite.getStatus(), Is.is(503));
+        MatcherAssert.assertThat(admittedRead.getStatus(), Is.is(200));
+        MatcherAssert.assertThat(meterRegistry.get("bookstore.bulkhead.rejected").tag("group", "admin-writes").counter().count(), Is.is(1.0));
+    }
+
+    private void perform(MockHttpServletRequest request, NestedCall nestedCall) throws Exception {
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest servletRequest, HttpServletResponse servletResponse) {
+                try {
+                    nestedCall.run();
+                } catch (Exception exception) {
+                    throw new IllegalStateException(exception);
+                }
+            }
+        };
+        bulkheadFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(servlet));
+    }
+
+    private interface NestedCall {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,85 @@
+package com.rodrigopeleias.bookstoremanager.cache;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class RefreshAheadCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(10);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final RefreshAheadCache<Long, String> cache = new RefreshAheadCache<>("test", TTL, Runnable::run, clock::get);
+
+    @Test
+    void whenFreshEntryIsReadThenTheLoaderShouldNotRunAgain() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = countingLoader(loads);
+
+        cache.get(1L, loader);
+        advance(Duration.ofSeconds(5));
+        String value = cache.get(1L, loader);
+
+        MatcherAssert.assertThat(value, Is.is("load 1"));
+        MatcherAssert.assertThat(loads.get(), Is.is(1));
+    }
+
+    @Test
+    void whenEntryIsReadCloseToExpiryThenItShouldBeRefreshedAhead() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = countingLoader(loads);
+
+        cache.get(1L, loader);
+        advance(Duration.ofSeconds(9));
+        String staleValue = cache.get(1L, loader);
+        advance(Duration.ofSeconds(5));
+        String refreshedValue = cache.get(1L, loader);
+
+        MatcherAssert.assertThat(staleValue, Is.is("load 1"));
+        MatcherAssert.assertThat(refreshedValue, Is.is("load 2"));
+        MatcherAssert.assertThat(loads.get(), Is.is(2));
+    }
+
+    @Test
+    void whenEntryIsInvalidatedThenTheNextReadShouldReload() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = countingLoader(loads);
+
+        cache.get(1L, loader);
+        cache.invalidate(1L);
+        String value = cache.get(1L, loader);
+
+        MatcherAssert.assertThat(value, Is.is("load 2"));
+    }
+
+    @Test
+    void whenScheduledRefreshRunsThenHotEntriesShouldBeReloadedAndColdOnesEvicted() {
+        AtomicInteger hotLoads = new AtomicInteger();
+        AtomicInteger coldLoads = new AtomicInteger();
+        cache.put(1L, "hot", countingLoader(hotLoads));
+        cache.put(2L, "cold", countingLoader(coldLoads));
+
+        advance(Duration.ofSeconds(6));
+        cache.get(1L, countingLoader(hotLoads));
+        advance(Duration.ofSeconds(6));
+        cache.refreshHotEntries();
+
+        MatcherAssert.assertThat(hotLoads.get(), Is.is(1));
+        MatcherAssert.assertThat(coldLoads.get(), Is.is(0));
+        MatcherAssert.assertThat(cache.size(), Is.is(1));
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private static Supplier<String> countingLoader(AtomicInteger loads) {
+        return () -> "load " + loads.incrementAndGet();
+    }
+}
@@ -0,0 +1,138 @@
+package com.rodrigopeleias.bookstoremanager.cache;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingleFlightTest {
+
+    @Test
+    void whenConcurrentCallsShareAKeyThenTheLoaderShouldRunOnce() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        int callers = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                loads.incrementAndGet();
+                leaderStarted.countDown();
+                await(releaseLeader);
+                return "Rodrigo Peleias";
+            })));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                    loads.incrementAndGet();
+                    return "duplicated load";
+                })));
+            }
+            Thread.sleep(200);
+            releaseLeader.countDown();
+
+            for (Future<String> result : results) {
+                MatcherAssert.assertThat(result.get(5, TimeUnit.SECONDS), Is.is("Rodrigo Peleias"));
+            }
+            MatcherAssert.assertThat(loads.get(), Is.is(1));
+            MatcherAssert.assertThat(singleFlight.inFlightCount(), Is.is(0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenLeaderFailsThenWaitingCallersShouldSeeTheSameException() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+                leaderStarted.countDown();
+                await(releaseLeader);
+                throw new IllegalStateException("load failed");
+            }));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+            Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> "duplicated load"));
+            Thread.sleep(100);
+            releaseLeader.countDown();
+
+            Assertions.assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            Exception followerFailure = Assertions.assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+            MatcherAssert.assertThat(followerFailure.getCause().getMessage(), Is.is("load failed"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenLeaderIsTooSlowThenWaitingCallerShouldFailWithoutLoadingItself() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", Duration.ofMillis(50));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> singleFlight.execute(1L, () -> {
+                loads.incrementAndGet();
+                leaderStarted.countDown();
+                await(releaseLeader);
+                return "slow load";
+            }));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+
+            Assertions.assertThrows(SingleFlightTimeoutException.class, () -> singleFlight.execute(1L, () -> {
+                loads.incrementAndGet();
+                return "duplicated load";
+            }));
+            MatcherAssert.assertThat(loads.get(), Is.is(1));
+        } finally {
+            releaseLeader.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenWaitingCallerIsInterruptedThenItShouldStopWaitingAndKeepTheInterrupt() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> singleFlight.execute(1L, () -> {
+                leaderStarted.countDown();
+                await(releaseLeader);
+                return "slow load";
+            }));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+
+            Thread.currentThread().interrupt();
+            Assertions.assertThrows(SingleFlightTimeoutException.class, () -> singleFlight.execute(1L, () -> "duplicated load"));
+            MatcherAssert.assertThat(Thread.interrupted(), Is.is(true));
+        } finally {
+            releaseLeader.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.rodrigopeleias.bookstoremanager.changes;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class ReplayBufferTest {
+
+    @Test
+    void whenClientIsWithinTheBufferThenMissedChangesShouldBeReplayedInOrder() {
+        ReplayBuffer replayBuffer = bufferWith(4, 3);
+
+        Optional<List<SequencedChange>> missed = replayBuffer.after(1);
+
+        MatcherAssert.assertThat(missed.map(ReplayBufferTest::sequences), Is.is(Optional.of(List.of(2L, 3L))));
+    }
+
+    @Test
+    void whenClientIsUpToDateThenNothingShouldBeReplayed() {
+        ReplayBuffer replayBuffer = bufferWith(4, 3);
+
+        MatcherAssert.assertThat(replayBuffer.after(3).map(List::size), Is.is(Optional.of(0)));
+    }
+
+    @Test
+    void whenClientFellBehindTheBufferThenAResyncShouldBeRequired() {
+        ReplayBuffer replayBuffer = bufferWith(4, 10);
+
+        MatcherAssert.assertThat(replayBuffer.after(6).map(ReplayBufferTest::sequences), Is.is(Optional.of(List.of(7L, 8L, 9L, 10L))));
+        MatcherAssert.assertThat(replayBuffer.after(5).isPresent(), Is.is(false));
+        MatcherAssert.assertThat(replayBuffer.after(11).isPresent(), Is.is(false));
+    }
+
+    private static ReplayBuffer bufferWith(int capacity, int changes) {
+        ReplayBuffer replayBuffer = new ReplayBuffer(capacity);
+        for (long id = 1; id <= changes; id++) {
+            replayBuffer.append(ChangeEvent.deleted("author", id));
+        }
+        return replayBuffer;
+    }
+
+    private static List<Long> sequences(List<SequencedChange> changes) {
+        return changes.stream().map(SequencedChange::getSequence).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,110 @@
+package com.rodrigopeleias.bookstoremanager.compression;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+public class CompressionFilterTest {
+
+    private static final String BODY = "[" + "{\"id\":1,\"name\":\"Rodrigo Peleias\",\"age\":30},".repeat(100) + "{}]";
+
+    private CompressedResponseCache cache;
+
+    private CompressionFilter compressionFilter;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CompressedResponseCache(1024 * 1024);
+        compressionFilter = new CompressionFilter(cache, 1024);
+    }
+
+    @Test
+    void whenGzipIsAcceptedThenCompressedBodyWithETagShouldBeReturned() throws Exception {
+        MockHttpServletResponse response = perform(request("gzip"));
+
+        MatcherAssert.assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING), Is.is("gzip"));
+        MatcherAssert.assertThat(response.getHeader(HttpHeaders.VARY), Is.is(HttpHeaders.ACCEPT_ENCODING));
+        MatcherAssert.assertThat(response.getHeader(HttpHeaders.ETAG).startsWith("\""), Is.is(true));
+        MatcherAssert.assertThat(response.getHeader(HttpHeaders.ETAG).endsWith("-gzip\""), Is.is(true));
+        MatcherAssert.assertThat(gunzip(response.getContentAsByteArray()), Is.is(BODY));
+    }
+
+    @Test
+    void whenSamePayloadIsRequestedTwiceThenItShouldBeCompressedOnce() throws Exception {
+        perform(request("gzip"));
+        perform(request("gzip"));
+
+        MatcherAssert.assertThat(cache.size(), Is.is(1));
+    }
+
+    @Test
+    void whenIfNoneMatchMatchesThenNotModifiedShouldBeReturned() throws Exception {
+        String eTag = perform(request("gzip")).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest conditionalRequest = request("gzip");
+        conditionalRequest.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+
+        MockHttpServletResponse response = perform(conditionalRequest);
+
+        MatcherAssert.assertThat(response.getStatus(), Is.is(HttpServletResponse.SC_NOT_MODIFIED));
+        MatcherAssert.assertThat(response.getContentAsByteArray().length, Is.is(0));
+    }
+
+    @Test
+    void whenEncodingIsNotAcceptedThenIdentityBodyShouldBeReturned() throws Exception {
+        MockHttpServletResponse response = perform(request("gzip;q=0"));
+
+        MatcherAssert.assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING), Is.is((String) null));
+        MatcherAssert.assertThat(response.getContentAsString(), Is.is(BODY));
+        MatcherAssert.assertThat(response.getHeader(HttpHeaders.VARY), Is.is(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    void whenTheIdentityETagIsSentForAnEncodedVariantThenTheFullBodyShouldBeReturned() throws Exception {
+        String identityETag = perform(request("identity")).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest conditionalRequest = request("gzip");
+        conditionalRequest.addHeader(HttpHeaders.IF_NONE_MATCH, identityETag);
+
+        MockHttpServletResponse response = perform(conditionalRequest);
+
+        MatcherAssert.assertThat(response.getStatus(), Is.is(HttpServletResponse.SC_OK));
+        MatcherAssert.assertThat(response.getHeader(HttpHeaders.ETAG), Is.is(identityETag.replaceFirst("\"$", "-gzip\"")));
+    }
+
+    private MockHttpServletRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/authors");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        compressionFilter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+        return response;
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
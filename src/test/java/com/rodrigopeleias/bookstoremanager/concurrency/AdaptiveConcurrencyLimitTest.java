@@ -0,0 +1,49 @@
+package com.rodrigopeleias.bookstoremanager.concurrency;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long BASELINE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void whenSaturatedWithStableLatencyThenTheLimitShouldGrow() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 200);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(BASELINE_RTT, limit.getLimit());
+        }
+
+        MatcherAssert.assertThat(limit.getLimit(), Matchers.greaterThan(20));
+    }
+
+    @Test
+    void whenLatencyRisesAboveTheBaselineThenTheLimitShouldShrinkToTheMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 5, 200);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(BASELINE_RTT, limit.getLimit());
+        }
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(BASELINE_RTT * 10, limit.getLimit());
+        }
+
+        MatcherAssert.assertThat(limit.getLimit(), Is.is(5));
+    }
+
+    @Test
+    void whenMostOfTheLimitIsUnusedThenTheLimitShouldNotGrow() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 200);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(BASELINE_RTT, 1);
+        }
+
+        MatcherAssert.assertThat(limit.getLimit(), Is.is(20));
+    }
+}
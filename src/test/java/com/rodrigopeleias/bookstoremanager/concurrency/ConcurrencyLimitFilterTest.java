@@ -0,0 +1,74 @@
+package com.rodrigopeleias.bookstoremanager.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+public class ConcurrencyLimitFilterTest {
+
+    private static final String BOOKS_API_URL_PATH = "/api/v1/books";
+
+    private static final String AUTHORS_API_URL_PATH = "/api/v1/authors";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        concurrencyLimitFilter = new ConcurrencyLimitFilter(meterRegistry, true, 1, 1, 1);
+    }
+
+    @Test
+    void whenGroupLimitIsReachedThenRequestShouldBeRejectedWithServiceUnavailable() throws Exception {
+        MockHttpServletResponse nestedResponse = new MockHttpServletResponse();
+        MockHttpServletResponse response = perform(new MockHttpServletRequest("GET", BOOKS_API_URL_PATH + "/1"),
+                () -> concurrencyLimitFilter.doFilter(new MockHttpServletRequest("GET", BOOKS_API_URL_PATH), nestedResponse, new MockFilterChain()));
+
+        MatcherAssert.assertThat(response.getStatus(), Is.is(200));
+        MatcherAssert.assertThat(nestedResponse.getStatus(), Is.is(503));
+        MatcherAssert.assertThat(nestedResponse.getHeader(HttpHeaders.RETRY_AFTER), Is.is("1"));
+        MatcherAssert.assertThat(meterRegistry.get("bookstore.concurrency.rejected").tag("group", "book-reads").counter().count(), Is.is(1.0));
+    }
+
+    @Test
+    void whenAnotherGroupIsSaturatedThenRequestShouldBeAdmitted() throws Exception {
+        MockHttpServletResponse nestedResponse = new MockHttpServletResponse();
+        perform(new MockHttpServletRequest("GET", BOOKS_API_URL_PATH),
+                () -> concurrencyLimitFilter.doFilter(new MockHttpServletRequest("DELETE", AUTHORS_API_URL_PATH + "/1"), nestedResponse, new MockFilterChain()));
+
+        MatcherAssert.assertThat(nestedResponse.getStatus(), Is.is(200));
+        MatcherAssert.assertThat(concurrencyLimitFilter.limitFor(RouteGroup.BOOK_READS).getInFlight(), Is.is(0));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, NestedCall nestedCall) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest servletRequest, HttpServletResponse servletResponse) {
+                try {
+                    nestedCall.run();
+                } catch (Exception exception) {
+                    throw new IllegalStateException(exception);
+                }
+            }
+        };
+        concurrencyLimitFilter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+
+    private interface NestedCall {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,82 @@
+package com.rodrigopeleias.bookstoremanager.controller;
+
+import com.rodrigopeleias.bookstoremanager.books.dto.BookResponseDTO;
+import com.rodrigopeleias.bookstoremanager.books.service.BookService;
+import com.rodrigopeleias.bookstoremanager.exception.BookstoreExceptionHandler;
+import com.rodrigopeleias.bookstoremanager.patch.MergePatch;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ExtendWith(MockitoExtension.class)
+public class BookControllerTest {
+
+    private static final String BOOK_API_URL_PATH = "/api/v1/books";
+
+    private static final String PAGES_PATCH = "{\"pages\": 210}";
+
+    @Mock
+    private BookService bookService;
+
+    @InjectMocks
+    private BookController bookController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(bookController)
+                .setControllerAdvice(new BookstoreExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void whenPATCHIsCalledByAUserNotOwningTheBookThenForbiddenShouldBeReturned() throws Exception {
+        Mockito.when(bookService.patchOwnBook(ArgumentMatchers.eq(1L), ArgumentMatchers.any(), ArgumentMatchers.isNull(), ArgumentMatchers.eq("intruder")))
+                .thenThrow(new AccessDeniedException("Book with id 1 is not owned by intruder"));
+
+        mockMvc.perform(MockMvcRequestBuilders.patch(BOOK_API_URL_PATH + "/1")
+                        .principal(caller("intruder", "ROLE_USER"))
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content(PAGES_PATCH))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        Mockito.verify(bookService, Mockito.never()).patch(ArgumentMatchers.anyLong(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void whenPATCHIsCalledByAnAdminThenTheBookShouldBePatchedWithoutAnOwnershipCheck() throws Exception {
+        BookResponseDTO patchedBookDTO = new BookResponseDTO(1L, "O Alquimista", "978-3-16-148410-0", 210L, 20L, null, null, 1L);
+        Mockito.when(bookService.patch(ArgumentMatchers.eq(1L), ArgumentMatchers.any(), ArgumentMatchers.isNull()))
+                .thenReturn(patchedBookDTO);
+
+        mockMvc.perform(MockMvcRequestBuilders.patch(BOOK_API_URL_PATH + "/1")
+                        .principal(caller("admin", "ROLE_ADMIN"))
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content(PAGES_PATCH))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.pages", Is.is(210)));
+
+        Mockito.verify(bookService, Mockito.never()).patchOwnBook(ArgumentMatchers.anyLong(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    private static Authentication caller(String username, String authority) {
+        return new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.createAuthorityList(authority));
+    }
+}
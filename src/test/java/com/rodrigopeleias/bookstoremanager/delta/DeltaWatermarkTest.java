@@ -0,0 +1,31 @@
+package com.rodrigopeleias.bookstoremanager.delta;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DeltaWatermarkTest {
+
+    @Test
+    void whenWatermarkIsEncodedThenDecodingShouldRestoreBothPositions() {
+        DeltaWatermark watermark = new DeltaWatermark(LocalDateTime.of(2021, 11, 3, 10, 15, 30, 123_000_000), 42L,
+                LocalDateTime.of(2021, 11, 2, 8, 0), 7L);
+
+        DeltaWatermark decoded = DeltaWatermark.decode(watermark.encode());
+
+        MatcherAssert.assertThat(decoded.getRowModifiedDate(), Is.is(watermark.getRowModifiedDate()));
+        MatcherAssert.assertThat(decoded.getRowId(), Is.is(42L));
+        MatcherAssert.assertThat(decoded.getTombstoneDeletedDate(), Is.is(watermark.getTombstoneDeletedDate()));
+        MatcherAssert.assertThat(decoded.getTombstoneId(), Is.is(7L));
+    }
+
+    @Test
+    void whenWatermarkIsNotOneWeIssuedThenAnExceptionShouldBeThrown() {
+        assertThrows(InvalidDeltaWatermarkException.class, () -> DeltaWatermark.decode("not-a-watermark"));
+        assertThrows(InvalidDeltaWatermarkException.class, () -> DeltaWatermark.decode("%%%"));
+    }
+}
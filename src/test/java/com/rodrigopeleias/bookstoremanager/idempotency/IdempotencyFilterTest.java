@@ -0,0 +1,144 @@
+package com.rodrigopeleias.bookstoremanager.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.hamcrest.core.IsNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class IdempotencyFilterTest {
+
+    private static final String AUTHORS_API_URL_PATH = "/api/v1/authors";
+
+    private static final String AUTHOR_JSON = "{\"name\":\"Rodrigo Peleias\",\"age\":30}";
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private IdempotencyFilter idempotencyFilter;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyFilter = new IdempotencyFilter(new SimpleMeterRegistry(), true, 100, Duration.ofHours(1), Duration.ofSeconds(1));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("rodrigo", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void whenCreateIsRetriedWithTheSameKeyThenTheStoredResponseShouldBeReplayed() throws Exception {
+        MockHttpServletResponse firstResponse = perform(request("key-1", AUTHOR_JSON), HttpServletResponse.SC_CREATED);
+        MockHttpServletResponse retriedResponse = perform(request("key-1", AUTHOR_JSON), HttpServletResponse.SC_CREATED);
+
+        MatcherAssert.assertThat(executions.get(), Is.is(1));
+        MatcherAssert.assertThat(retriedResponse.getStatus(), Is.is(201));
+        MatcherAssert.assertThat(retriedResponse.getContentAsString(), Is.is(firstResponse.getContentAsString()));
+        MatcherAssert.assertThat(retriedResponse.getHeader(IdempotencyFilter.REPLAYED_HEADER), Is.is("true"));
+        MatcherAssert.assertThat(firstResponse.getHeader(IdempotencyFilter.REPLAYED_HEADER), IsNull.nullValue());
+        MatcherAssert.assertThat(retriedResponse.getHeader(HttpHeaders.ETAG), Is.is("\"0\""));
+        MatcherAssert.assertThat(retriedResponse.getHeader(HttpHeaders.LOCATION), Is.is(AUTHORS_API_URL_PATH + "/1"));
+    }
+
+    @Test
+    void whenKeyIsReusedWithADifferentBodyThenUnprocessableEntityShouldBeReturned() throws Exception {
+        perform(request("key-1", AUTHOR_JSON), HttpServletResponse.SC_CREATED);
+        MockHttpServletResponse response = perform(request("key-1", "{\"name\":\"Other Author\",\"age\":40}"), HttpServletResponse.SC_CREATED);
+
+        MatcherAssert.assertThat(response.getStatus(), Is.is(422));
+        MatcherAssert.assertThat(executions.get(), Is.is(1));
+    }
+
+    @Test
+    void whenFirstExecutionFailsWithServerErrorThenTheRetryShouldRunAgain() throws Exception {
+        perform(request("key-1", AUTHOR_JSON), HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        MockHttpServletResponse response = perform(request("key-1", AUTHOR_JSON), HttpServletResponse.SC_CREATED);
+
+        MatcherAssert.assertThat(response.getStatus(), Is.is(201));
+        MatcherAssert.assertThat(executions.get(), Is.is(2));
+    }
+
+    @Test
+    void whenNoKeyIsGivenThenEveryRequestShouldExecute() throws Exception {
+        perform(request(null, AUTHOR_JSON), HttpServletResponse.SC_CREATED);
+        perform(request(null, AUTHOR_JSON), HttpServletResponse.SC_CREATED);
+
+        MatcherAssert.assertThat(executions.get(), Is.is(2));
+        MatcherAssert.assertThat(idempotencyFilter.getStore().size(), Is.is(0));
+    }
+
+    @Test
+    void whenAnonymousCallerRetriesTheSameRequestThenTheStoredResponseShouldBeReplayed() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new AnonymousAuthenticationToken("anonymous", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        perform(request("key-1", AUTHOR_JSON), HttpServletResponse.SC_CREATED);
+        MockHttpServletResponse response = perform(request("key-1", AUTHOR_JSON), HttpServletResponse.SC_CREATED);
+
+        MatcherAssert.assertThat(executions.get(), Is.is(1));
+        MatcherAssert.assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER), Is.is("true"));
+    }
+
+    @Test
+    void whenAnonymousCallersReuseAKeyWithDifferentBodiesThenEachRequestShouldExecute() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new AnonymousAuthenticationToken("anonymous", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        perform(request("key-1", AUTHOR_JSON), HttpServletResponse.SC_CREATED);
+        MockHttpServletResponse response = perform(request("key-1", "{\"name\":\"Other Author\",\"age\":40}"), HttpServletResponse.SC_CREATED);
+
+        MatcherAssert.assertThat(executions.get(), Is.is(2));
+        MatcherAssert.assertThat(response.getStatus(), Is.is(201));
+        MatcherAssert.assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER), IsNull.nullValue());
+    }
+
+    private MockHttpServletRequest request(String idempotencyKey, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", AUTHORS_API_URL_PATH);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (idempotencyKey != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, int status) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest servletRequest, HttpServletResponse servletResponse) throws IOException {
+                int execution = executions.incrementAndGet();
+                String body = StreamUtils.copyToString(servletRequest.getInputStream(), StandardCharsets.UTF_8);
+                servletResponse.setStatus(status);
+                servletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                servletResponse.setHeader(HttpHeaders.ETAG, "\"0\"");
+                servletResponse.setHeader(HttpHeaders.LOCATION, AUTHORS_API_URL_PATH + "/" + execution);
+                servletResponse.getWriter().write("{\"execution\":" + execution + ",\"request\":" + body + "}");
+            }
+        };
+        idempotencyFilter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+}
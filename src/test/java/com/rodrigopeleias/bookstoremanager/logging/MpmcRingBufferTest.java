@@ -0,0 +1,89 @@
+package com.rodrigopeleias.bookstoremanager.logging;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MpmcRingBufferTest {
+
+    @Test
+    void whenCapacityIsNotPowerOfTwoThenItIsRoundedUp() {
+        MpmcRingBuffer<Integer> ringBuffer = new MpmcRingBuffer<>(100);
+
+        MatcherAssert.assertThat(ringBuffer.capacity(), Is.is(128));
+    }
+
+    @Test
+    void whenBufferIsFullThenOfferIsRejected() {
+        MpmcRingBuffer<Integer> ringBuffer = new MpmcRingBuffer<>(2);
+
+        Assertions.assertTrue(ringBuffer.offer(1));
+        Assertions.assertTrue(ringBuffer.offer(2));
+        Assertions.assertFalse(ringBuffer.offer(3));
+        MatcherAssert.assertThat(ringBuffer.size(), Is.is(2));
+    }
+
+    @Test
+    void whenElementsArePolledThenTheyComeOutInOfferOrder() {
+        MpmcRingBuffer<Integer> ringBuffer = new MpmcRingBuffer<>(4);
+
+        for (int lap = 0; lap < 3; lap++) {
+            ringBuffer.offer(lap);
+            ringBuffer.offer(lap + 10);
+            MatcherAssert.assertThat(ringBuffer.poll(), Is.is(lap));
+            MatcherAssert.assertThat(ringBuffer.poll(), Is.is(lap + 10));
+        }
+        Assertions.assertNull(ringBuffer.poll());
+        Assertions.assertTrue(ringBuffer.isEmpty());
+    }
+
+    @Test
+    void whenManyProducersAndConsumersRunConcurrentlyThenEveryElementIsDeliveredOnce() throws InterruptedException {
+        int producers = 4;
+        int elementsPerProducer = 50_000;
+        MpmcRingBuffer<Integer> ringBuffer = new MpmcRingBuffer<>(64);
+        Set<Integer> delivered = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch producersDone = new CountDownLatch(producers);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int producer = 0; producer < producers; producer++) {
+            int offset = producer * elementsPerProducer;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < elementsPerProducer; i++) {
+                    while (!ringBuffer.offer(offset + i)) {
+                        Thread.yield();
+                    }
+                }
+                producersDone.countDown();
+            }));
+        }
+        for (int consumer = 0; consumer < 2; consumer++) {
+            threads.add(new Thread(() -> {
+                while (producersDone.getCount() > 0 || !ringBuffer.isEmpty()) {
+                    Integer element = ringBuffer.poll();
+                    if (element == null) {
+                        Thread.yield();
+                    } else if (!delivered.add(element)) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        MatcherAssert.assertThat(duplicates.get(), Is.is(0));
+        MatcherAssert.assertThat(delivered.size(), Is.is(producers * elementsPerProducer));
+    }
+}
@@ -0,0 +1,57 @@
+package com.rodrigopeleias.bookstoremanager.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RateLimitingTurboFilterTest {
+
+    private RateLimitingTurboFilter filter;
+
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitingTurboFilter();
+        filter.setAllowedRepetitions(2);
+        filter.setCacheSize(2);
+        logger = new LoggerContext().getLogger("rate-limited");
+    }
+
+    @Test
+    void whenWarningRepeatsPastTheAllowanceThenItIsSuppressed() {
+        MatcherAssert.assertThat(decide(Level.WARN, "repeated"), Is.is(FilterReply.NEUTRAL));
+        MatcherAssert.assertThat(decide(Level.WARN, "repeated"), Is.is(FilterReply.NEUTRAL));
+        MatcherAssert.assertThat(decide(Level.WARN, "repeated"), Is.is(FilterReply.DENY));
+        MatcherAssert.assertThat(filter.getSuppressedCount(), Is.is(1L));
+    }
+
+    @Test
+    void whenErrorRepeatsThenItIsNeverSuppressed() {
+        for (int i = 0; i < 10; i++) {
+            MatcherAssert.assertThat(decide(Level.ERROR, "failure"), Is.is(FilterReply.NEUTRAL));
+        }
+        MatcherAssert.assertThat(filter.getSuppressedCount(), Is.is(0L));
+    }
+
+    @Test
+    void whenTooManyTemplatesAreTrackedThenOnlyTheLeastRecentlyLoggedIsEvicted() {
+        decide(Level.WARN, "first");
+        decide(Level.WARN, "first");
+        decide(Level.WARN, "second");
+        decide(Level.WARN, "second");
+        decide(Level.WARN, "third");
+
+        MatcherAssert.assertThat(decide(Level.WARN, "second"), Is.is(FilterReply.DENY));
+        MatcherAssert.assertThat(decide(Level.WARN, "first"), Is.is(FilterReply.NEUTRAL));
+    }
+
+    private FilterReply decide(Level level, String format) {
+        return filter.decide(null, logger, level, format, null, null);
+    }
+}
@@ -0,0 +1,44 @@
+package com.rodrigopeleias.bookstoremanager.patch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rodrigopeleias.bookstoremanager.author.dto.AuthorDTO;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validation;
+
+public class MergePatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final MergePatch mergePatch = new MergePatch(objectMapper, Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void whenPatchInformsSomeFieldsThenOnlyThoseShouldChange() throws Exception {
+        AuthorDTO patchedAuthorDTO = mergePatch.apply(new AuthorDTO(1L, "Rodrigo Peleias", 32, 0L), json("{\"age\": 33}"));
+
+        MatcherAssert.assertThat(patchedAuthorDTO, Is.is(new AuthorDTO(1L, "Rodrigo Peleias", 33, 0L)));
+    }
+
+    @Test
+    void whenPatchClearsARequiredFieldThenAnExceptionShouldBeThrown() throws Exception {
+        JsonNode patch = json("{\"name\": null}");
+
+        Assertions.assertThrows(ConstraintViolationException.class, () -> mergePatch.apply(new AuthorDTO(1L, "Rodrigo Peleias", 32, 0L), patch));
+    }
+
+    @Test
+    void whenPatchIsNotAJsonObjectThenAnExceptionShouldBeThrown() throws Exception {
+        JsonNode patch = json("[{\"age\": 33}]");
+
+        Assertions.assertThrows(InvalidMergePatchException.class, () -> mergePatch.apply(new AuthorDTO(1L, "Rodrigo Peleias", 32, 0L), patch));
+    }
+
+    private JsonNode json(String content) throws Exception {
+        return objectMapper.readTree(content);
+    }
+}
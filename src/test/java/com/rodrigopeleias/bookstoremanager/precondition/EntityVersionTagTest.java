@@ -0,0 +1,42 @@
+package com.rodrigopeleias.bookstoremanager.precondition;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.hamcrest.core.IsNull;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EntityVersionTagTest {
+
+    @Test
+    void whenIfMatchCarriesAStrongETagThenItsVersionShouldBeExpected() {
+        MatcherAssert.assertThat(EntityVersionTag.parseIfMatch("\"3\""), Is.is(3L));
+        MatcherAssert.assertThat(EntityVersionTag.parseIfMatch(" \"0\" "), Is.is(0L));
+        MatcherAssert.assertThat(EntityVersionTag.parseIfMatch("\"3-gzip\""), Is.is(3L));
+    }
+
+    @Test
+    void whenIfMatchIsAbsentOrAnyThenTheWriteShouldBeUnconditional() {
+        MatcherAssert.assertThat(EntityVersionTag.parseIfMatch(null), IsNull.nullValue());
+        MatcherAssert.assertThat(EntityVersionTag.parseIfMatch("*"), IsNull.nullValue());
+    }
+
+    @Test
+    void whenIfMatchCanNotMatchAVersionThenPreconditionFailedShouldBeThrown() {
+        assertThrows(PreconditionFailedException.class, () -> EntityVersionTag.parseIfMatch("W/\"3\""));
+        assertThrows(PreconditionFailedException.class, () -> EntityVersionTag.parseIfMatch("3"));
+        assertThrows(PreconditionFailedException.class, () -> EntityVersionTag.parseIfMatch("\"3\", \"4\""));
+        assertThrows(PreconditionFailedException.class, () -> EntityVersionTag.verifyIfMatch("author", 1L, 4L, 3L));
+    }
+
+    @Test
+    void whenVersionIsKnownThenItShouldBeSentAsTheETag() {
+        ResponseEntity<String> response = EntityVersionTag.withVersion("body", 5L);
+
+        MatcherAssert.assertThat(response.getHeaders().getETag(), Is.is("\"5\""));
+        MatcherAssert.assertThat(EntityVersionTag.withVersion("body", null).getHeaders().containsKey(HttpHeaders.ETAG), Is.is(false));
+    }
+}
@@ -20,11 +20,14 @@ public class PublisherDTOBuilder {
     @Builder.Default
     private final LocalDate foundationDate = LocalDate.of(2020, 6, 1);
 
+    private final Long version;
+
     public PublisherDTO buildPublisherDTO() {
         return new PublisherDTO(id,
                 name,
                 code,
-                foundationDate);
+                foundationDate,
+                version);
     }
 
 }
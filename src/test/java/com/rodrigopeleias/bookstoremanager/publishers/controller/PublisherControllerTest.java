@@ -1,9 +1,12 @@
 package com.rodrigopeleias.bookstoremanager.publishers.controller;
 
+import com.rodrigopeleias.bookstoremanager.multiget.MultiGetItemDTO;
 import com.rodrigopeleias.bookstoremanager.publishers.builder.PublisherDTOBuilder;
 import com.rodrigopeleias.bookstoremanager.publishers.dto.PublisherDTO;
 import com.rodrigopeleias.bookstoremanager.publishers.service.PublisherService;
 import com.rodrigopeleias.bookstoremanager.utils.JsonConversionUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,12 +17,15 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
+import java.util.Arrays;
 import java.util.Collections;
 
 @ExtendWith(MockitoExtension.class)
@@ -61,6 +67,26 @@ public class PublisherControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.code", Matchers.is(expectedCreatedPublisherDTO.getCode())));
     }
 
+    @Test
+    void whenPOSTIsCalledWithCborBodyThenCborResponseShouldBeReturned() throws Exception {
+        PublisherDTO expectedCreatedPublisherDTO = publisherDTOBuilder.buildPublisherDTO();
+        MediaType cborMediaType = MediaType.APPLICATION_CBOR;
+        ObjectMapper cborObjectMapper = Jackson2ObjectMapperBuilder.cbor().build();
+
+        Mockito.when(publisherService.create(expectedCreatedPublisherDTO)).thenReturn(expectedCreatedPublisherDTO);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post(PUBLISHERS_API_URL_PATH)
+                        .contentType(cborMediaType)
+                        .accept(cborMediaType)
+                        .content(cborObjectMapper.writeValueAsBytes(expectedCreatedPublisherDTO)))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.content().contentType(cborMediaType))
+                .andReturn();
+
+        PublisherDTO createdPublisherDTO = cborObjectMapper.readValue(result.getResponse().getContentAsByteArray(), PublisherDTO.class);
+        MatcherAssert.assertThat(createdPublisherDTO, Matchers.is(expectedCreatedPublisherDTO));
+    }
+
     @Test
     void whenPOSTIsCalledWithoutRequiredFieldsThenBadRequestStatusShouldBeInformed() throws Exception {
         PublisherDTO expectedCreatedPublisherDTO = publisherDTOBuilder.buildPublisherDTO();
@@ -87,6 +113,41 @@ public class PublisherControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.code", Matchers.is(expectedCreatedPublisherDTO.getCode())));
     }
 
+    @Test
+    void whenGETListWithFieldsIsCalledThenOnlySelectedFieldsShouldBeReturned() throws Exception {
+        PublisherDTO expectedProjectedPublisherDTO = new PublisherDTO();
+        expectedProjectedPublisherDTO.setId(1L);
+        expectedProjectedPublisherDTO.setName("Projected");
+
+        Mockito.when(publisherService.findAll("name"))
+                .thenReturn(Collections.singletonList(expectedProjectedPublisherDTO));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PUBLISHERS_API_URL_PATH)
+                        .param("fields", "name")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", Matchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name", Matchers.is("Projected")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].code").doesNotExist());
+    }
+
+    @Test
+    void whenGETWithIdListIsCalledThenOkStatusAndResultsInRequestOrderShouldBeInformed() throws Exception {
+        PublisherDTO expectedFoundPublisherDTO = publisherDTOBuilder.buildPublisherDTO();
+
+        Mockito.when(publisherService.findAllById(Arrays.asList(expectedFoundPublisherDTO.getId(), 3L)))
+                .thenReturn(Arrays.asList(MultiGetItemDTO.found(expectedFoundPublisherDTO.getId(), expectedFoundPublisherDTO), MultiGetItemDTO.notFound(3L)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PUBLISHERS_API_URL_PATH)
+                        .param("ids", expectedFoundPublisherDTO.getId() + ",3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].found", Matchers.is(true)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].item.code", Matchers.is(expectedFoundPublisherDTO.getCode())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].id", Matchers.is(3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].found", Matchers.is(false)));
+    }
+
     @Test
     void whenGETListIsCalledThenOkStatusShouldBeInformed() throws Exception {
         PublisherDTO expectedCreatedPublisherDTO = publisherDTOBuilder.buildPublisherDTO();
@@ -106,7 +167,7 @@ public class PublisherControllerTest {
         PublisherDTO expectedPublisherToDelete = publisherDTOBuilder.buildPublisherDTO();
         var expectedPublisherIdToDelete = expectedPublisherToDelete.getId();
 
-        Mockito.doNothing().when(publisherService).delete(expectedPublisherIdToDelete);
+        Mockito.doNothing().when(publisherService).delete(expectedPublisherIdToDelete, null);
 
         mockMvc.perform(MockMvcRequestBuilders.delete(PUBLISHERS_API_URL_PATH + "/" + expectedPublisherIdToDelete)
                         .contentType(MediaType.APPLICATION_JSON))
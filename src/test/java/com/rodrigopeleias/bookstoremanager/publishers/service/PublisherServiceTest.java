@@ -1,5 +1,10 @@
 package com.rodrigopeleias.bookstoremanager.publishers.service;
 
+import com.rodrigopeleias.bookstoremanager.delta.DeltaQuery;
+import com.rodrigopeleias.bookstoremanager.multiget.MultiGetItemDTO;
+import com.rodrigopeleias.bookstoremanager.projection.FieldSelection;
+import com.rodrigopeleias.bookstoremanager.projection.InvalidFieldSelectionException;
+import com.rodrigopeleias.bookstoremanager.projection.TupleProjection;
 import com.rodrigopeleias.bookstoremanager.publishers.builder.PublisherDTOBuilder;
 import com.rodrigopeleias.bookstoremanager.publishers.dto.PublisherDTO;
 import com.rodrigopeleias.bookstoremanager.publishers.entity.Publisher;
@@ -9,18 +14,25 @@ import com.rodrigopeleias.bookstoremanager.publishers.mappers.PublisherMapper;
 import com.rodrigopeleias.bookstoremanager.publishers.repository.PublisherRepository;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import org.springframework.dao.DataIntegrityViolationException;
 
 @ExtendWith(MockitoExtension.class)
 public class PublisherServiceTest {
@@ -30,6 +42,15 @@ public class PublisherServiceTest {
     @Mock
     private PublisherRepository publisherRepository;
 
+    @Mock
+    private TupleProjection tupleProjection;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DeltaQuery deltaQuery;
+
     @InjectMocks
     private PublisherService publisherService;
 
@@ -45,9 +66,7 @@ public class PublisherServiceTest {
         PublisherDTO expectedPublisherToCreateDTO = publisherDTOBuilder.buildPublisherDTO();
         Publisher expectedPublisherCreated = publisherMapper.toModel(expectedPublisherToCreateDTO);
 
-        Mockito.when(publisherRepository.findByNameOrCode(expectedPublisherToCreateDTO.getName(), expectedPublisherToCreateDTO.getCode()))
-                        .thenReturn(Optional.empty());
-        Mockito.when(publisherRepository.save(expectedPublisherCreated)).thenReturn(expectedPublisherCreated);
+        Mockito.when(publisherRepository.save(Mockito.any(Publisher.class))).thenReturn(expectedPublisherCreated);
 
         PublisherDTO createdPublisherDTO = publisherService.create(expectedPublisherToCreateDTO);
 
@@ -57,10 +76,9 @@ public class PublisherServiceTest {
     @Test
     void whenExistingPublisherIsInformedThenAnExceptionShouldBeThrown() {
         PublisherDTO expectedPublisherToCreateDTO = publisherDTOBuilder.buildPublisherDTO();
-        Publisher expectedPublisherDuplicated = publisherMapper.toModel(expectedPublisherToCreateDTO);
 
-        Mockito.when(publisherRepository.findByNameOrCode(expectedPublisherToCreateDTO.getName(), expectedPublisherToCreateDTO.getCode()))
-                .thenReturn(Optional.of(expectedPublisherDuplicated));
+        Mockito.when(publisherRepository.save(Mockito.any(Publisher.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicated", new ConstraintViolationException("duplicated", null, Publisher.CODE_CONSTRAINT)));
 
         Assertions.assertThrows(PublisherAlreadyExistsException.class, () -> publisherService.create(expectedPublisherToCreateDTO));
     }
@@ -89,6 +107,43 @@ public class PublisherServiceTest {
         Assertions.assertThrows(PublisherNotFoundException.class, () -> publisherService.findById(expectedPublisherFoundId));
     }
 
+    @Test
+    void whenFieldsAreSelectedThenOnlyThoseFieldsShouldBeProjected() {
+        PublisherDTO expectedProjectedPublisherDTO = new PublisherDTO();
+        expectedProjectedPublisherDTO.setId(1L);
+        expectedProjectedPublisherDTO.setName("Projected");
+
+        Mockito.when(tupleProjection.findById(ArgumentMatchers.eq(Publisher.class), ArgumentMatchers.eq(1L),
+                        ArgumentMatchers.argThat((FieldSelection selection) -> selection.getFields().equals(Set.of("id", "name"))),
+                        ArgumentMatchers.any()))
+                .thenReturn(Optional.of(expectedProjectedPublisherDTO));
+
+        PublisherDTO foundPublisherDTO = publisherService.findById(1L, "name");
+
+        MatcherAssert.assertThat(foundPublisherDTO, Matchers.is(expectedProjectedPublisherDTO));
+    }
+
+    @Test
+    void whenUnknownFieldIsSelectedThenAnExceptionShouldBeThrown() {
+        Assertions.assertThrows(InvalidFieldSelectionException.class, () -> publisherService.findAll("name,books"));
+    }
+
+    @Test
+    void whenIdListIsGivenThenPublishersShouldBeReturnedInRequestOrderWithNotFoundMarkers() {
+        PublisherDTO expectedFoundPublisherDTO = publisherDTOBuilder.buildPublisherDTO();
+        Publisher expectedFoundPublisher = publisherMapper.toModel(expectedFoundPublisherDTO);
+        List<Long> requestedIds = Arrays.asList(3L, expectedFoundPublisherDTO.getId());
+
+        Mockito.when(publisherRepository.findAllById(requestedIds))
+                .thenReturn(Collections.singletonList(expectedFoundPublisher));
+
+        List<MultiGetItemDTO<PublisherDTO>> foundPublishersDTO = publisherService.findAllById(requestedIds);
+
+        MatcherAssert.assertThat(foundPublishersDTO, Matchers.is(Arrays.asList(
+                MultiGetItemDTO.notFound(3L),
+                MultiGetItemDTO.found(expectedFoundPublisherDTO.getId(), expectedFoundPublisherDTO))));
+    }
+
     @Test
     void whenListPublishersIsCalledThenItShouldBeReturned() {
         PublisherDTO expectedPublisherFoundDTO = publisherDTOBuilder.buildPublisherDTO();
@@ -114,22 +169,21 @@ public class PublisherServiceTest {
     @Test
     void whenValidPublisherIdIsGivenThenItShouldBeDeleted() {
         PublisherDTO expectedPublisherDeletedDTO = publisherDTOBuilder.buildPublisherDTO();
-        Publisher expectedPublisherDeleted = publisherMapper.toModel(expectedPublisherDeletedDTO);
 
         var expectedDeletedPublisherId = expectedPublisherDeletedDTO.getId();
-        Mockito.doNothing().when(publisherRepository).deleteById(expectedDeletedPublisherId);
-        Mockito.when(publisherRepository.findById(expectedDeletedPublisherId)).thenReturn(Optional.of(expectedPublisherDeleted));
-        publisherService.delete(expectedDeletedPublisherId);
+        Mockito.when(publisherRepository.softDeleteById(Mockito.eq(expectedDeletedPublisherId), Mockito.isNull(), Mockito.any(LocalDateTime.class))).thenReturn(1);
+        publisherService.delete(expectedDeletedPublisherId, null);
 
-        Mockito.verify(publisherRepository, Mockito.times(1)).deleteById(expectedDeletedPublisherId);
+        Mockito.verify(publisherRepository, Mockito.times(1)).softDeleteById(Mockito.eq(expectedDeletedPublisherId), Mockito.isNull(), Mockito.any(LocalDateTime.class));
+        Mockito.verify(publisherRepository, Mockito.never()).deleteById(expectedDeletedPublisherId);
     }
 
     @Test
     void whenIvalidPublisherIdIsGivenThenItShouldNotBeDeleted() {
         var expectedInvalidPublisherId = 2L;
 
-        Mockito.when(publisherRepository.findById(expectedInvalidPublisherId)).thenReturn(Optional.empty());
+        Mockito.when(publisherRepository.softDeleteById(Mockito.eq(expectedInvalidPublisherId), Mockito.isNull(), Mockito.any(LocalDateTime.class))).thenReturn(0);
 
-        Assertions.assertThrows(PublisherNotFoundException.class, () -> publisherService.delete(expectedInvalidPublisherId));
+        Assertions.assertThrows(PublisherNotFoundException.class, () -> publisherService.delete(expectedInvalidPublisherId, null));
     }
 }
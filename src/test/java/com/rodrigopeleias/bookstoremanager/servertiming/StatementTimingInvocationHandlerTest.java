@@ -0,0 +1,43 @@
+package com.rodrigopeleias.bookstoremanager.servertiming;
+
+import com.rodrigopeleias.bookstoremanager.bulkhead.BulkheadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+public class StatementTimingInvocationHandlerTest {
+
+    @Test
+    void whenARoutingDataSourceIsWrappedThenDestroyingTheProxyShouldCloseItsPools() throws Exception {
+        HikariDataSource pool = new HikariDataSource();
+        HikariDataSource defaultPool = new HikariDataSource();
+        BulkheadRoutingDataSource routingDataSource = new BulkheadRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of("pool", pool));
+        routingDataSource.setDefaultTargetDataSource(defaultPool);
+        routingDataSource.afterPropertiesSet();
+
+        DataSource wrapped = StatementTimingInvocationHandler.wrap(routingDataSource);
+        MatcherAssert.assertThat(wrapped, IsInstanceOf.instanceOf(DisposableBean.class));
+        ((DisposableBean) wrapped).destroy();
+
+        MatcherAssert.assertThat(pool.isClosed(), Is.is(true));
+        MatcherAssert.assertThat(defaultPool.isClosed(), Is.is(true));
+    }
+
+    @Test
+    void whenAPoolIsWrappedThenClosingTheProxyShouldCloseThePool() throws Exception {
+        HikariDataSource pool = new HikariDataSource();
+
+        DataSource wrapped = StatementTimingInvocationHandler.wrap(pool);
+        MatcherAssert.assertThat(wrapped, IsInstanceOf.instanceOf(AutoCloseable.class));
+        ((AutoCloseable) wrapped).close();
+
+        MatcherAssert.assertThat(pool.isClosed(), Is.is(true));
+    }
+}
@@ -0,0 +1,24 @@
+package com.rodrigopeleias.bookstoremanager.sqlbudget;
+
+import com.rodrigopeleias.bookstoremanager.servertiming.ServerTimingContext;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+
+public class SqlStatementBudget {
+
+    // counts the statements the operation sends through the wrapped DataSource on this thread
+    public static <T> T assertWithinBudget(String operation, int budget, ThrowingSupplier<T> statements) throws Exception {
+        ServerTimingContext context = ServerTimingContext.start();
+        try {
+            return statements.get();
+        } finally {
+            ServerTimingContext.clear();
+            MatcherAssert.assertThat(operation + " SQL statements", context.getSqlCount(), Matchers.lessThanOrEqualTo(budget));
+        }
+    }
+
+    public interface ThrowingSupplier<T> {
+
+        T get() throws Exception;
+    }
+}
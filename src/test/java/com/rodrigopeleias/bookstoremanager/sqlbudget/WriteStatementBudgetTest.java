@@ -0,0 +1,211 @@
+package com.rodrigopeleias.bookstoremanager.sqlbudget;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rodrigopeleias.bookstoremanager.author.builder.AuthorDTOBuilder;
+import com.rodrigopeleias.bookstoremanager.author.dto.AuthorDTO;
+import com.rodrigopeleias.bookstoremanager.author.exception.AuthorAlreadyExistsException;
+import com.rodrigopeleias.bookstoremanager.author.exception.AuthorNotFoundException;
+import com.rodrigopeleias.bookstoremanager.author.service.AuthorService;
+import com.rodrigopeleias.bookstoremanager.config.PasswordEncondingConfig;
+import com.rodrigopeleias.bookstoremanager.delta.DeltaQuery;
+import com.rodrigopeleias.bookstoremanager.delta.TombstoneRecorder;
+import com.rodrigopeleias.bookstoremanager.patch.MergePatch;
+import com.rodrigopeleias.bookstoremanager.precondition.PreconditionFailedException;
+import com.rodrigopeleias.bookstoremanager.projection.TupleProjection;
+import com.rodrigopeleias.bookstoremanager.publishers.builder.PublisherDTOBuilder;
+import com.rodrigopeleias.bookstoremanager.publishers.dto.PublisherDTO;
+import com.rodrigopeleias.bookstoremanager.publishers.exception.PublisherAlreadyExistsException;
+import com.rodrigopeleias.bookstoremanager.publishers.service.PublisherService;
+import com.rodrigopeleias.bookstoremanager.servertiming.StatementTimingInvocationHandler;
+import com.rodrigopeleias.bookstoremanager.users.builder.UserDTOBuilder;
+import com.rodrigopeleias.bookstoremanager.users.dto.MessageDTO;
+import com.rodrigopeleias.bookstoremanager.users.dto.UserDTO;
+import com.rodrigopeleias.bookstoremanager.users.exception.UserAlreadyExistsException;
+import com.rodrigopeleias.bookstoremanager.users.exception.UserNotFoundException;
+import com.rodrigopeleias.bookstoremanager.users.service.UserService;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+// Write paths against a real database, each held to the number of statements it is allowed to send.
+// A regression that brings back a select ahead of an insert, update or delete fails here.
+@DataJpaTest(showSql = false)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({AuthorService.class, PublisherService.class, UserService.class, TupleProjection.class, DeltaQuery.class,
+        TombstoneRecorder.class, MergePatch.class, PasswordEncondingConfig.class, WriteStatementBudgetTest.StatementCountingConfig.class})
+public class WriteStatementBudgetTest {
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private PublisherService publisherService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("delete from tombstone");
+        jdbcTemplate.execute("delete from author");
+        jdbcTemplate.execute("delete from publisher");
+        jdbcTemplate.execute("delete from user");
+    }
+
+    @Test
+    void whenAuthorIsCreatedThenOnlyTheInsertShouldBeSent() throws Exception {
+        AuthorDTO authorToCreateDTO = AuthorDTOBuilder.builder().build().buildAuthorDTO();
+
+        SqlStatementBudget.assertWithinBudget("author create", 1, () -> authorService.create(authorToCreateDTO));
+    }
+
+    @Test
+    void whenDuplicatedAuthorIsCreatedThenOnlyTheRejectedInsertShouldBeSent() throws Exception {
+        AuthorDTO authorToCreateDTO = AuthorDTOBuilder.builder().build().buildAuthorDTO();
+        authorService.create(authorToCreateDTO);
+
+        SqlStatementBudget.assertWithinBudget("duplicated author create", 1, () ->
+                Assertions.assertThrows(AuthorAlreadyExistsException.class, () -> authorService.create(authorToCreateDTO)));
+    }
+
+    @Test
+    void whenAuthorIsDeletedThenTheSoftDeleteAndItsTombstoneShouldBeSent() throws Exception {
+        AuthorDTO createdAuthorDTO = authorService.create(AuthorDTOBuilder.builder().build().buildAuthorDTO());
+
+        SqlStatementBudget.assertWithinBudget("author delete", 2, () -> {
+            authorService.delete(createdAuthorDTO.getId(), null);
+            return null;
+        });
+        Assertions.assertThrows(AuthorNotFoundException.class, () -> authorService.delete(createdAuthorDTO.getId(), null));
+    }
+
+    @Test
+    void whenAuthorIsPatchedThenTheLoadAndASingleUpdateShouldBeSent() throws Exception {
+        AuthorDTO createdAuthorDTO = authorService.create(AuthorDTOBuilder.builder().build().buildAuthorDTO());
+
+        SqlStatementBudget.assertWithinBudget("author patch", 2, () ->
+                authorService.patch(createdAuthorDTO.getId(), objectMapper.readTree("{\"age\": 60}"), null));
+        SqlStatementBudget.assertWithinBudget("author no-op patch", 1, () ->
+                authorService.patch(createdAuthorDTO.getId(), objectMapper.readTree("{\"age\": 60}"), null));
+    }
+
+    @Test
+    void whenAuthorIsWrittenWithIfMatchThenTheVersionShouldBeCheckedByTheSameStatements() throws Exception {
+        AuthorDTO createdAuthorDTO = authorService.create(AuthorDTOBuilder.builder().build().buildAuthorDTO());
+        Long authorId = createdAuthorDTO.getId();
+
+        AuthorDTO patchedAuthorDTO = SqlStatementBudget.assertWithinBudget("author conditional patch", 2, () ->
+                authorService.patch(authorId, objectMapper.readTree("{\"age\": 60}"), createdAuthorDTO.getVersion()));
+        MatcherAssert.assertThat(patchedAuthorDTO.getVersion(), Is.is(createdAuthorDTO.getVersion() + 1));
+
+        SqlStatementBudget.assertWithinBudget("author stale patch", 1, () ->
+                Assertions.assertThrows(PreconditionFailedException.class, () ->
+                        authorService.patch(authorId, objectMapper.readTree("{\"age\": 61}"), createdAuthorDTO.getVersion())));
+        SqlStatementBudget.assertWithinBudget("author stale delete", 2, () ->
+                Assertions.assertThrows(PreconditionFailedException.class, () -> authorService.delete(authorId, createdAuthorDTO.getVersion())));
+        SqlStatementBudget.assertWithinBudget("author conditional delete", 2, () -> {
+            authorService.delete(authorId, patchedAuthorDTO.getVersion());
+            return null;
+        });
+    }
+
+    @Test
+    void whenPublisherIsCreatedThenOnlyTheInsertShouldBeSent() throws Exception {
+        PublisherDTO publisherToCreateDTO = PublisherDTOBuilder.builder().build().buildPublisherDTO();
+
+        SqlStatementBudget.assertWithinBudget("publisher create", 1, () -> publisherService.create(publisherToCreateDTO));
+        SqlStatementBudget.assertWithinBudget("duplicated publisher create", 1, () ->
+                Assertions.assertThrows(PublisherAlreadyExistsException.class, () -> publisherService.create(publisherToCreateDTO)));
+    }
+
+    @Test
+    void whenPublisherIsDeletedThenTheSoftDeleteAndItsTombstoneShouldBeSent() throws Exception {
+        PublisherDTO createdPublisherDTO = publisherService.create(PublisherDTOBuilder.builder().build().buildPublisherDTO());
+
+        SqlStatementBudget.assertWithinBudget("publisher delete", 2, () -> {
+            publisherService.delete(createdPublisherDTO.getId(), null);
+            return null;
+        });
+    }
+
+    @Test
+    void whenUserIsWrittenThenEachOperationShouldSendASingleStatement() throws Exception {
+        UserDTO userToCreateDTO = UserDTOBuilder.builder().build().buildUserDTO();
+        SqlStatementBudget.assertWithinBudget("user create", 1, () -> userService.create(userToCreateDTO));
+        Long createdUserId = jdbcTemplate.queryForObject("select id from user where username = ?", Long.class, userToCreateDTO.getUsername());
+
+        UserDTO userToUpdateDTO = UserDTOBuilder.builder().name("Rodrigo Updated").build().buildUserDTO();
+        SqlStatementBudget.assertWithinBudget("user update", 1, () -> userService.update(createdUserId, userToUpdateDTO, null));
+
+        SqlStatementBudget.assertWithinBudget("user patch", 2, () ->
+                userService.patch(createdUserId, objectMapper.readTree("{\"age\": 40}"), null));
+
+        SqlStatementBudget.assertWithinBudget("duplicated user create", 1, () ->
+                Assertions.assertThrows(UserAlreadyExistsException.class, () -> userService.create(userToCreateDTO)));
+
+        SqlStatementBudget.assertWithinBudget("user delete", 1, () -> {
+            userService.delete(createdUserId, null);
+            return null;
+        });
+    }
+
+    @Test
+    void whenUserIsUpdatedWithIfMatchThenTheVersionShouldBeCheckedByTheSameStatement() throws Exception {
+        UserDTO userToCreateDTO = UserDTOBuilder.builder().build().buildUserDTO();
+        MessageDTO createdMessageDTO = userService.create(userToCreateDTO);
+        Long createdUserId = jdbcTemplate.queryForObject("select id from user where username = ?", Long.class, userToCreateDTO.getUsername());
+
+        UserDTO userToUpdateDTO = UserDTOBuilder.builder().name("Rodrigo Updated").build().buildUserDTO();
+        MessageDTO updatedMessageDTO = SqlStatementBudget.assertWithinBudget("user conditional update", 1, () ->
+                userService.update(createdUserId, userToUpdateDTO, createdMessageDTO.getVersion()));
+        MatcherAssert.assertThat(updatedMessageDTO.getVersion(), Is.is(createdMessageDTO.getVersion() + 1));
+
+        SqlStatementBudget.assertWithinBudget("user stale update", 2, () ->
+                Assertions.assertThrows(PreconditionFailedException.class, () ->
+                        userService.update(createdUserId, userToUpdateDTO, createdMessageDTO.getVersion())));
+        Assertions.assertThrows(PreconditionFailedException.class, () ->
+                userService.patch(createdUserId, objectMapper.readTree("{\"age\": 40}"), createdMessageDTO.getVersion()));
+        Assertions.assertThrows(UserNotFoundException.class, () -> userService.delete(createdUserId + 1, createdMessageDTO.getVersion()));
+        userService.delete(createdUserId, updatedMessageDTO.getVersion());
+    }
+
+    @TestConfiguration
+    static class StatementCountingConfig {
+
+        @Bean
+        public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource) {
+                        return StatementTimingInvocationHandler.wrap((DataSource) bean);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -37,6 +37,8 @@ public class UserDTOBuilder {
     @Builder.Default
     private Role role = Role.USER;
 
+    private Long version;
+
     public UserDTO buildUserDTO() {
         return new UserDTO(id,
                 name,
@@ -46,7 +48,8 @@ public class UserDTOBuilder {
                 username,
                 password,
                 birthDate,
-                role);
+                role,
+                version);
     }
 
 }
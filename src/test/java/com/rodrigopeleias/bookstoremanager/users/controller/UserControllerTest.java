@@ -78,7 +78,7 @@ public class UserControllerTest {
         MessageDTO expectedUpdateMessageDTO = MessageDTO.builder().message(expectedUpdateMessage).build();
         var expectedUserToUpdateId = expectedUserUpdateDTO.getId();
 
-        Mockito.when(userService.update(expectedUserToUpdateId, expectedUserUpdateDTO)).thenReturn(expectedUpdateMessageDTO);
+        Mockito.when(userService.update(expectedUserToUpdateId, expectedUserUpdateDTO, null)).thenReturn(expectedUpdateMessageDTO);
 
         mockMvc.perform(MockMvcRequestBuilders.put(USERS_API_URL_PATH + "/" + expectedUserToUpdateId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -104,7 +104,7 @@ public class UserControllerTest {
     void whenDELETEIsCalledThenNoContentShouldBeInformed() throws Exception {
         UserDTO expectedUserToDeleteDTO = userDTOBuilder.buildUserDTO();
 
-        Mockito.doNothing().when(userService).delete(expectedUserToDeleteDTO.getId());
+        Mockito.doNothing().when(userService).delete(expectedUserToDeleteDTO.getId(), null);
 
         mockMvc.perform(MockMvcRequestBuilders.delete(USERS_API_URL_PATH + "/" + expectedUserToDeleteDTO.getId())
                 .contentType(MediaType.APPLICATION_JSON))
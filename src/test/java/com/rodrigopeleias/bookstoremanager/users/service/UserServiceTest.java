@@ -1,5 +1,7 @@
 package com.rodrigopeleias.bookstoremanager.users.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rodrigopeleias.bookstoremanager.patch.MergePatch;
 import com.rodrigopeleias.bookstoremanager.users.builder.UserDTOBuilder;
 import com.rodrigopeleias.bookstoremanager.users.dto.MessageDTO;
 import com.rodrigopeleias.bookstoremanager.users.dto.UserDTO;
@@ -10,6 +12,7 @@ import com.rodrigopeleias.bookstoremanager.users.mapper.UserMapper;
 import com.rodrigopeleias.bookstoremanager.users.repository.UserRepository;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,9 +20,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import javax.validation.Validation;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +40,10 @@ public class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Spy
+    private MergePatch mergePatch = new MergePatch(new ObjectMapper().findAndRegisterModules(),
+            Validation.buildDefaultValidatorFactory().getValidator());
+
     @InjectMocks
     private UserService userService;
 
@@ -49,13 +60,8 @@ public class UserServiceTest {
         User expectedCreatedUser = userMapper.toModel(expectedCreatedUserDTO);
         String expectedCreationMessage = "User rodrigopeleias with ID 1 successfully created";
 
-        String expectedUserEmail = expectedCreatedUser.getEmail();
-        String expectedUsername = expectedCreatedUser.getUsername();
-
-        Mockito.when(userRepository.findByEmailOrUsername(expectedUserEmail, expectedUsername))
-                .thenReturn(Optional.empty());
         Mockito.when(passwordEncoder.encode(expectedCreatedUser.getPassword())).thenReturn(expectedCreatedUser.getPassword());
-        Mockito.when(userRepository.save(expectedCreatedUser)).thenReturn(expectedCreatedUser);
+        Mockito.when(userRepository.save(Mockito.any(User.class))).thenReturn(expectedCreatedUser);
 
         MessageDTO creationMessage = userService.create(expectedCreatedUserDTO);
 
@@ -65,13 +71,9 @@ public class UserServiceTest {
     @Test
     void whenExistingUserIsInformedThenAnExceptionShouldBThrown() {
         UserDTO expectedDuplicatedUserDTO = userDTOBuilder.buildUserDTO();
-        User expectedDuplicatedUser = userMapper.toModel(expectedDuplicatedUserDTO);
-
-        String expectedUserEmail = expectedDuplicatedUser.getEmail();
-        String expectedUsername = expectedDuplicatedUser.getUsername();
 
-        Mockito.when(userRepository.findByEmailOrUsername(expectedUserEmail, expectedUsername))
-                .thenReturn(Optional.of(expectedDuplicatedUser));
+        Mockito.when(userRepository.save(Mockito.any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicated", new ConstraintViolationException("duplicated", null, User.USERNAME_CONSTRAINT)));
 
         Assertions.assertThrows(UserAlreadyExistsException.class, () -> userService.create(expectedDuplicatedUserDTO));
     }
@@ -79,15 +81,14 @@ public class UserServiceTest {
     @Test
     void whenValidUserIsInformedThenItShouldBeDeleted() {
         UserDTO expectedDeletedUserDTO = userDTOBuilder.buildUserDTO();
-        User expectedDeletedUser = userMapper.toModel(expectedDeletedUserDTO);
         var expectedDeletedUserId = expectedDeletedUserDTO.getId();
 
-        Mockito.when(userRepository.findById(expectedDeletedUserId)).thenReturn(Optional.of(expectedDeletedUser));
-        Mockito.doNothing().when(userRepository).deleteById(expectedDeletedUserId);
+        Mockito.when(userRepository.softDeleteById(Mockito.eq(expectedDeletedUserId), Mockito.isNull(), Mockito.any(LocalDateTime.class))).thenReturn(1);
 
-        userService.delete(expectedDeletedUserId);
+        userService.delete(expectedDeletedUserId, null);
 
-        Mockito.verify(userRepository, Mockito.times(1)).deleteById(expectedDeletedUserId);
+        Mockito.verify(userRepository, Mockito.times(1)).softDeleteById(Mockito.eq(expectedDeletedUserId), Mockito.isNull(), Mockito.any(LocalDateTime.class));
+        Mockito.verify(userRepository, Mockito.never()).deleteById(expectedDeletedUserId);
     }
 
     @Test
@@ -95,25 +96,25 @@ public class UserServiceTest {
         UserDTO expectedDeletedUserDTO = userDTOBuilder.buildUserDTO();
         var expectedDeletedUserId = expectedDeletedUserDTO.getId();
 
-        Mockito.when(userRepository.findById(expectedDeletedUserId)).thenReturn(Optional.empty());
+        Mockito.when(userRepository.softDeleteById(Mockito.eq(expectedDeletedUserId), Mockito.isNull(), Mockito.any(LocalDateTime.class))).thenReturn(0);
 
-        Assertions.assertThrows(UserNotFoundException.class, () -> userService.delete(expectedDeletedUserId));
+        Assertions.assertThrows(UserNotFoundException.class, () -> userService.delete(expectedDeletedUserId, null));
     }
 
     @Test
     void whenExistingUserIsInformedThenItShouldBeUpdated() {
         UserDTO expectedUpdatedUserDTO = userDTOBuilder.buildUserDTO();
         expectedUpdatedUserDTO.setUsername("rodrigoupdate");
-        User expectedUpdatedUser = userMapper.toModel(expectedUpdatedUserDTO);
         String expectedUpdatedMessage = "User rodrigoupdate with ID 1 successfully updated";
 
-        Mockito.when(userRepository.findById(expectedUpdatedUserDTO.getId())).thenReturn(Optional.of(expectedUpdatedUser));
         Mockito.when(passwordEncoder.encode(expectedUpdatedUserDTO.getPassword())).thenReturn(expectedUpdatedUserDTO.getPassword());
-        Mockito.when(userRepository.save(expectedUpdatedUser)).thenReturn(expectedUpdatedUser);
+        Mockito.when(userRepository.update(Mockito.any(User.class))).thenReturn(1);
 
-        MessageDTO sucessUpdatedMessage = userService.update(expectedUpdatedUserDTO.getId(), expectedUpdatedUserDTO);
+        MessageDTO sucessUpdatedMessage = userService.update(expectedUpdatedUserDTO.getId(), expectedUpdatedUserDTO, null);
 
         MatcherAssert.assertThat(sucessUpdatedMessage.getMessage(), Matchers.is(Matchers.equalTo(expectedUpdatedMessage)));
+        Mockito.verify(userRepository, Mockito.never()).findById(expectedUpdatedUserDTO.getId());
+        Mockito.verify(userRepository, Mockito.never()).save(Mockito.any(User.class));
     }
 
     @Test
@@ -121,8 +122,51 @@ public class UserServiceTest {
         UserDTO expectedUpdatedUserDTO = userDTOBuilder.buildUserDTO();
         expectedUpdatedUserDTO.setUsername("rodrigoupdate");
 
-        Mockito.when(userRepository.findById(expectedUpdatedUserDTO.getId())).thenReturn(Optional.empty());
+        Mockito.when(userRepository.update(Mockito.any(User.class))).thenReturn(0);
+
+        Assertions.assertThrows(UserNotFoundException.class, () -> userService.update(expectedUpdatedUserDTO.getId(), expectedUpdatedUserDTO, null));
+    }
+
+    @Test
+    void whenPatchDoesNotInformThePasswordThenItShouldNotBeEncodedAgain() throws Exception {
+        User existingUser = userMapper.toModel(userDTOBuilder.buildUserDTO());
+        existingUser.setPassword("$2a$10$storedHash");
+        String expectedUpdatedMessage = "User rodrigopeleias with ID 1 successfully updated";
+
+        Mockito.when(userRepository.findById(existingUser.getId())).thenReturn(Optional.of(existingUser));
+        Mockito.when(userRepository.saveAndFlush(existingUser)).thenReturn(existingUser);
+
+        MessageDTO updatedMessage = userService.patch(existingUser.getId(), new ObjectMapper().readTree("{\"name\": \"Rodrigo Patched\"}"), null);
+
+        MatcherAssert.assertThat(updatedMessage.getMessage(), Matchers.is(expectedUpdatedMessage));
+        MatcherAssert.assertThat(existingUser.getName(), Matchers.is("Rodrigo Patched"));
+        MatcherAssert.assertThat(existingUser.getPassword(), Matchers.is("$2a$10$storedHash"));
+        Mockito.verifyNoInteractions(passwordEncoder);
+    }
+
+    @Test
+    void whenPatchInformsANewPasswordThenOnlyItShouldBeEncoded() throws Exception {
+        User existingUser = userMapper.toModel(userDTOBuilder.buildUserDTO());
+        existingUser.setPassword("$2a$10$storedHash");
+
+        Mockito.when(userRepository.findById(existingUser.getId())).thenReturn(Optional.of(existingUser));
+        Mockito.when(passwordEncoder.encode("newPassword")).thenReturn("$2a$10$newHash");
+        Mockito.when(userRepository.saveAndFlush(existingUser)).thenReturn(existingUser);
+
+        userService.patch(existingUser.getId(), new ObjectMapper().readTree("{\"password\": \"newPassword\"}"), null);
+
+        MatcherAssert.assertThat(existingUser.getPassword(), Matchers.is("$2a$10$newHash"));
+        Mockito.verify(passwordEncoder, Mockito.times(1)).encode("newPassword");
+    }
+
+    @Test
+    void whenPatchChangesNothingThenNothingShouldBeWritten() throws Exception {
+        User existingUser = userMapper.toModel(userDTOBuilder.buildUserDTO());
+
+        Mockito.when(userRepository.findById(existingUser.getId())).thenReturn(Optional.of(existingUser));
+
+        userService.patch(existingUser.getId(), new ObjectMapper().readTree("{\"name\": \"" + existingUser.getName() + "\"}"), null);
 
-        Assertions.assertThrows(UserNotFoundException.class, () -> userService.update(expectedUpdatedUserDTO.getId(), expectedUpdatedUserDTO));
+        Mockito.verify(userRepository, Mockito.never()).saveAndFlush(Mockito.any(User.class));
     }
 }